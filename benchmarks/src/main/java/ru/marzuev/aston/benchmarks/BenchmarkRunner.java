@@ -0,0 +1,25 @@
+package ru.marzuev.aston.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ Класс BenchmarkRunner, точка входа benchmarks.jar. Принимает обычные параметры командной строки JMH
+ и всегда подключает профилировщик сборщика мусора, поэтому в отчете есть скорость выделения памяти
+ gc.alloc.rate.norm для каждой операции
+ @author Марзуев Владимир
+ @version 1.0
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
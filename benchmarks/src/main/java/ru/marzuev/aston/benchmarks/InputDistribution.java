@@ -0,0 +1,52 @@
+package ru.marzuev.aston.benchmarks;
+
+import java.util.Random;
+
+/**
+ Перечисление InputDistribution, способы заполнения входных данных бенчмарков
+ @author Марзуев Владимир
+ @version 1.0
+ */
+public enum InputDistribution {
+    RANDOM,
+    SORTED,
+    REVERSED,
+    ALL_EQUAL,
+    FEW_DISTINCT;
+
+    /**
+     @value Количество различных значений для FEW_DISTINCT
+     */
+    private static final int DISTINCT_VALUES = 8;
+
+    /**
+     Метод создания входных данных, генератор инициализируется фиксированным значением, поэтому данные
+     одинаковы во всех запусках
+     @param size - количество элементов
+     @return Integer[] - заполненный массив
+     */
+    public Integer[] generate(int size) {
+        Random random = new Random(42);
+        Integer[] data = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            switch (this) {
+                case RANDOM:
+                    data[i] = random.nextInt();
+                    break;
+                case SORTED:
+                    data[i] = i;
+                    break;
+                case REVERSED:
+                    data[i] = size - i;
+                    break;
+                case ALL_EQUAL:
+                    data[i] = 42;
+                    break;
+                default:
+                    data[i] = random.nextInt(DISTINCT_VALUES);
+                    break;
+            }
+        }
+        return data;
+    }
+}
@@ -0,0 +1,155 @@
+package ru.marzuev.aston.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.marzuev.aston.myarraylist.CapacityPolicy;
+import ru.marzuev.aston.myarraylist.MyArrayList;
+import ru.marzuev.aston.myarraylist.ObjectArrayPool;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ Класс ListOperationsBenchmark, сравнение операций MyArrayList с java.util.ArrayList на одинаковых данных.
+ Каждая операция измеряется парой методов my* и arrayList*, вставка и удаление в начале выполняются
+ вместе с обратной дешевой операцией в конце, поэтому размер списка между вызовами не меняется
+ @author Марзуев Владимир
+ @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Thread)
+public class ListOperationsBenchmark {
+    /**
+     @value Количество заранее выбранных индексов и ключей, перебираемых по кругу
+     */
+    private static final int KEYS = 1024;
+
+    @Param({"10", "1000", "100000", "10000000"})
+    private int size;
+
+    @Param({"RANDOM", "SORTED", "REVERSED", "ALL_EQUAL", "FEW_DISTINCT"})
+    private InputDistribution distribution;
+
+    private Integer[] data;
+    private int[] indexes;
+    private Integer[] keys;
+    private MyArrayList<Integer> myList;
+    private ArrayList<Integer> arrayList;
+    private int cursor = 0;
+
+    @Setup
+    public void setUp() {
+        data = distribution.generate(size);
+        myList = new MyArrayList<>(size);
+        myList.addAll(data, 0);
+        arrayList = new ArrayList<>(Arrays.asList(data));
+        Random random = new Random(7);
+        indexes = new int[KEYS];
+        keys = new Integer[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            indexes[i] = random.nextInt(size);
+            keys[i] = data[random.nextInt(size)];
+        }
+    }
+
+    @Benchmark
+    public MyArrayList<Integer> myAdd() {
+        MyArrayList<Integer> list = new MyArrayList<>();
+        for (Integer element : data) {
+            list.add(element);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public int myPooledAdd() {
+        MyArrayList<Integer> list = new MyArrayList<>(10, CapacityPolicy.defaultPolicy(), ObjectArrayPool.shared());
+        for (Integer element : data) {
+            list.add(element);
+        }
+        int result = list.size();
+        list.release();
+        return result;
+    }
+
+    @Benchmark
+    public ArrayList<Integer> arrayListAdd() {
+        ArrayList<Integer> list = new ArrayList<>();
+        for (Integer element : data) {
+            list.add(element);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public Integer myAddFirst() {
+        myList.add(keys[cursor++ & (KEYS - 1)], 0);
+        return myList.remove(myList.size() - 1);
+    }
+
+    @Benchmark
+    public Integer arrayListAddFirst() {
+        arrayList.add(0, keys[cursor++ & (KEYS - 1)]);
+        return arrayList.remove(arrayList.size() - 1);
+    }
+
+    @Benchmark
+    public Integer myGet() {
+        return myList.get(indexes[cursor++ & (KEYS - 1)]);
+    }
+
+    @Benchmark
+    public Integer arrayListGet() {
+        return arrayList.get(indexes[cursor++ & (KEYS - 1)]);
+    }
+
+    @Benchmark
+    public boolean myRemoveFirst() {
+        return myList.add(myList.remove(0));
+    }
+
+    @Benchmark
+    public boolean arrayListRemoveFirst() {
+        return arrayList.add(arrayList.remove(0));
+    }
+
+    @Benchmark
+    public int myIndexOf() {
+        return myList.indexOf(keys[cursor++ & (KEYS - 1)]);
+    }
+
+    @Benchmark
+    public int arrayListIndexOf() {
+        return arrayList.indexOf(keys[cursor++ & (KEYS - 1)]);
+    }
+
+    @Benchmark
+    public void myIterator(Blackhole blackhole) {
+        for (Integer element : myList) {
+            blackhole.consume(element);
+        }
+    }
+
+    @Benchmark
+    public void arrayListIterator(Blackhole blackhole) {
+        for (Integer element : arrayList) {
+            blackhole.consume(element);
+        }
+    }
+}
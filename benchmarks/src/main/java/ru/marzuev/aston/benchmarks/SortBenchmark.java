@@ -0,0 +1,94 @@
+package ru.marzuev.aston.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.marzuev.aston.myarraylist.MyArrayList;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ Класс SortBenchmark, сравнение MyArrayList.quickSort и binarySearch с сортировкой java.util.ArrayList, то есть
+ Arrays.sort по внутреннему массиву, и Collections.binarySearch. Сортировка каждый раз выполняется по свежей копии
+ входных данных, копирование входит в измерение для обеих сторон одинаково
+ @author Марзуев Владимир
+ @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Thread)
+public class SortBenchmark {
+    private static final Comparator<Object> COMPARATOR = Comparator.comparingInt(o -> (Integer) o);
+    /**
+     @value Количество заранее выбранных ключей поиска, перебираемых по кругу
+     */
+    private static final int KEYS = 1024;
+
+    @Param({"10", "1000", "100000", "10000000"})
+    private int size;
+
+    @Param({"RANDOM", "SORTED", "REVERSED", "ALL_EQUAL", "FEW_DISTINCT"})
+    private InputDistribution distribution;
+
+    private Integer[] data;
+    private Integer[] keys;
+    private MyArrayList<Integer> sortedMyList;
+    private ArrayList<Integer> sortedArrayList;
+    private int cursor = 0;
+
+    @Setup
+    public void setUp() {
+        data = distribution.generate(size);
+        sortedMyList = new MyArrayList<>(size);
+        sortedMyList.addAll(data, 0);
+        sortedMyList.quickSort(COMPARATOR);
+        sortedArrayList = new ArrayList<>(Arrays.asList(data));
+        sortedArrayList.sort(COMPARATOR);
+        Random random = new Random(7);
+        keys = new Integer[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = data[random.nextInt(size)];
+        }
+    }
+
+    @Benchmark
+    public MyArrayList<Integer> myQuickSort() {
+        MyArrayList<Integer> list = new MyArrayList<>(size);
+        list.addAll(data, 0);
+        list.quickSort(COMPARATOR);
+        return list;
+    }
+
+    @Benchmark
+    public ArrayList<Integer> arrayListSort() {
+        ArrayList<Integer> list = new ArrayList<>(Arrays.asList(data));
+        list.sort(COMPARATOR);
+        return list;
+    }
+
+    @Benchmark
+    public int myBinarySearch() {
+        return sortedMyList.binarySearch(keys[cursor++ & (KEYS - 1)], COMPARATOR);
+    }
+
+    @Benchmark
+    public int arrayListBinarySearch() {
+        return Collections.binarySearch(sortedArrayList, keys[cursor++ & (KEYS - 1)], COMPARATOR);
+    }
+}
@@ -0,0 +1,165 @@
+package ru.marzuev.aston.externalsort;
+
+import ru.marzuev.aston.myarraylist.MyArrayList;
+import ru.marzuev.aston.myarraylist.MyList;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ Класс ExternalMergeSort со свойствами <b>comparator</b>, <b>serializer</b> и <b>bufferSize</b>, внешняя сортировка
+ слиянием для данных, которые не помещаются в память. Источник читается порциями по bufferSize элементов,
+ каждая порция сортируется устойчивой сортировкой MyArrayList.mergeSort и записывается во временный файл,
+ после чего файлы сливаются кучей и результат выдается итератором. Если файлов больше mergeWidth, они
+ предварительно сливаются группами, поэтому в памяти одновременно находятся не больше bufferSize элементов
+ и mergeWidth буферов чтения. Сортировка устойчива: равные элементы выдаются в порядке источника
+ @author Марзуев Владимир
+ @version 1.0
+ */
+public class ExternalMergeSort<T> {
+    /**
+     @value Количество файлов, сливаемых за один проход, при использовании сокращенного конструктора
+     */
+    private static final int DEFAULT_MERGE_WIDTH = 64;
+    /**
+     @value Размер буфера ввода-вывода одного временного файла в байтах
+     */
+    static final int IO_BUFFER_SIZE = 1 << 16;
+    private final Comparator<Object> comparator;
+    private final Serializer<T> serializer;
+    private final int bufferSize;
+    private final int mergeWidth;
+    private final Path directory;
+
+    /**
+     Конструктор с временными файлами в каталоге java.io.tmpdir и шириной слияния DEFAULT_MERGE_WIDTH
+     @param comparator - компаратор по которому будет производиться сортировка объектов
+     @param serializer - способ записи элементов во временные файлы
+     @param bufferSize - наибольшее количество элементов, сортируемых в памяти за раз
+     */
+    public ExternalMergeSort(Comparator<Object> comparator, Serializer<T> serializer, int bufferSize) {
+        this(comparator, serializer, bufferSize, DEFAULT_MERGE_WIDTH, Path.of(System.getProperty("java.io.tmpdir")));
+    }
+
+    /**
+     Конструктор со всеми параметрами
+     @param comparator - компаратор по которому будет производиться сортировка объектов
+     @param serializer - способ записи элементов во временные файлы
+     @param bufferSize - наибольшее количество элементов, сортируемых в памяти за раз
+     @param mergeWidth - наибольшее количество файлов, сливаемых за один проход, не меньше 2
+     @param directory - каталог временных файлов
+     @exception IllegalArgumentException - возникает если bufferSize меньше 1 или mergeWidth меньше 2
+     */
+    public ExternalMergeSort(Comparator<Object> comparator, Serializer<T> serializer, int bufferSize,
+                             int mergeWidth, Path directory) {
+        if (bufferSize < 1 || mergeWidth < 2) {
+            throw new IllegalArgumentException("Capacity Is Wrong");
+        }
+        this.comparator = comparator;
+        this.serializer = serializer;
+        this.bufferSize = bufferSize;
+        this.mergeWidth = mergeWidth;
+        this.directory = directory;
+    }
+
+    /**
+     Метод сортировки элементов списка
+     @param source - сортируемый список, не изменяется
+     @return SortedIterator - итератор по отсортированным элементам, который требуется закрыть
+     @exception IOException - возникает при ошибке работы с временными файлами
+     */
+    public SortedIterator<T> sort(MyList<? extends T> source) throws IOException {
+        return sort(source.iterator());
+    }
+
+    /**
+     Метод сортировки элементов итератора. Если все элементы поместились в один буфер, временные файлы
+     не создаются
+     @param source - источник элементов
+     @return SortedIterator - итератор по отсортированным элементам, который требуется закрыть
+     @exception IOException - возникает при ошибке работы с временными файлами
+     */
+    public SortedIterator<T> sort(Iterator<? extends T> source) throws IOException {
+        List<Path> created = new ArrayList<>();
+        List<Run> runs = new ArrayList<>();
+        try {
+            MyArrayList<T> buffer = new MyArrayList<>(bufferSize);
+            while (source.hasNext()) {
+                buffer.clear();
+                while (buffer.size() < bufferSize && source.hasNext()) {
+                    buffer.add(source.next());
+                }
+                buffer.mergeSort(comparator);
+                if (runs.isEmpty() && !source.hasNext()) {
+                    return new SortedIterator<>(buffer, comparator, serializer, List.of());
+                }
+                runs.add(writeRun(buffer.iterator(), created));
+            }
+            buffer.clear();
+            while (runs.size() > mergeWidth) {
+                List<Run> merged = new ArrayList<>();
+                for (int from = 0; from < runs.size(); from += mergeWidth) {
+                    List<Run> group = runs.subList(from, Math.min(runs.size(), from + mergeWidth));
+                    if (group.size() == 1) {
+                        merged.add(group.get(0));
+                        continue;
+                    }
+                    try (SortedIterator<T> iterator = new SortedIterator<>(null, comparator, serializer, group)) {
+                        merged.add(writeRun(iterator, created));
+                    }
+                }
+                runs = merged;
+            }
+        } catch (IOException | RuntimeException e) {
+            for (Path file : created) {
+                Files.deleteIfExists(file);
+            }
+            throw e;
+        }
+        return new SortedIterator<>(null, comparator, serializer, runs);
+    }
+
+    /**
+     Метод записи отсортированной последовательности во временный файл через буферизованный канал
+     @param elements - элементы в отсортированном порядке
+     @param created - список всех созданных файлов, в который добавляется новый файл
+     @return Run - описание записанного файла
+     */
+    private Run writeRun(Iterator<? extends T> elements, List<Path> created) throws IOException {
+        Path file = Files.createTempFile(directory, "run", ".tmp");
+        created.add(file);
+        long count = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE);
+             DataOutputStream out = new DataOutputStream(
+                     new BufferedOutputStream(Channels.newOutputStream(channel), IO_BUFFER_SIZE))) {
+            while (elements.hasNext()) {
+                serializer.write(elements.next(), out);
+                count++;
+            }
+        }
+        return new Run(file, count);
+    }
+
+    /**
+     Класс Run со свойствами <b>file</b> и <b>count</b>, временный файл с отсортированной последовательностью
+     */
+    static final class Run {
+        final Path file;
+        final long count;
+
+        Run(Path file, long count) {
+            this.file = file;
+            this.count = count;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package ru.marzuev.aston.externalsort;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ Интерфейс Serializer, запись элементов во временные файлы внешней сортировки и их чтение обратно
+ @author Марзуев Владимир
+ @version 1.0
+ */
+public interface Serializer<T> {
+
+    /**
+     Метод записи элемента
+     @param element - записываемый элемент
+     @param out - поток, в который записывается элемент
+     @exception IOException - возникает при ошибке записи
+     */
+    void write(T element, DataOutput out) throws IOException;
+
+    /**
+     Метод чтения элемента, записанного методом write
+     @param in - поток, из которого читается элемент
+     @return T - прочитанный элемент
+     @exception IOException - возникает при ошибке чтения
+     */
+    T read(DataInput in) throws IOException;
+}
@@ -0,0 +1,149 @@
+package ru.marzuev.aston.externalsort;
+
+import ru.marzuev.aston.myarraylist.MyArrayList;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ Класс SortedIterator со свойствами <b>memory</b> и <b>queue</b>, итератор по результату внешней сортировки.
+ Если сортировка уместилась в память, элементы выдаются из отсортированного буфера, иначе временные файлы
+ сливаются кучей: в куче хранится по одному текущему элементу каждого файла, при равенстве элементов первым
+ выдается элемент более раннего файла. Прочитанный до конца файл сразу удаляется, а close удаляет оставшиеся
+ @author Марзуев Владимир
+ @version 1.0
+ */
+public class SortedIterator<T> implements Iterator<T>, AutoCloseable {
+    private final MyArrayList<T> memory;
+    private final Serializer<T> serializer;
+    private final PriorityQueue<RunReader<T>> queue;
+    private final List<ExternalMergeSort.Run> runs;
+    private int memoryIndex = 0;
+
+    /**
+     Класс RunReader со свойствами <b>in</b>, <b>remaining</b> и <b>head</b>, чтение одного временного файла
+     */
+    private static final class RunReader<T> {
+        private final ExternalMergeSort.Run run;
+        private final int order;
+        private DataInputStream in;
+        private long remaining;
+        private T head;
+
+        private RunReader(ExternalMergeSort.Run run, int order) {
+            this.run = run;
+            this.order = order;
+            this.remaining = run.count;
+        }
+    }
+
+    SortedIterator(MyArrayList<T> memory, Comparator<Object> comparator, Serializer<T> serializer,
+                   List<ExternalMergeSort.Run> runs) throws IOException {
+        this.memory = memory;
+        this.serializer = serializer;
+        this.runs = runs;
+        this.queue = new PriorityQueue<>(Math.max(1, runs.size()), (first, second) -> {
+            int compare = comparator.compare(first.head, second.head);
+            return compare != 0 ? compare : Integer.compare(first.order, second.order);
+        });
+        try {
+            for (int i = 0; i < runs.size(); i++) {
+                RunReader<T> reader = new RunReader<>(runs.get(i), i);
+                reader.in = new DataInputStream(new BufferedInputStream(
+                        Channels.newInputStream(FileChannel.open(reader.run.file, StandardOpenOption.READ)),
+                        ExternalMergeSort.IO_BUFFER_SIZE));
+                try {
+                    advance(reader);
+                } catch (IOException | RuntimeException e) {
+                    reader.in.close();
+                    throw e;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return memory != null ? memoryIndex < memory.size() : !queue.isEmpty();
+    }
+
+    /**
+     Метод возвращения следующего элемента в отсортированном порядке
+     @return T - следующий элемент
+     @exception NoSuchElementException - возникает, если элементы закончились
+     @exception UncheckedIOException - возникает при ошибке чтения временного файла
+     */
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        if (memory != null) {
+            return memory.get(memoryIndex++);
+        }
+        RunReader<T> reader = queue.poll();
+        T element = reader.head;
+        try {
+            advance(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return element;
+    }
+
+    /**
+     Метод закрытия всех временных файлов и их удаления, повторный вызов ничего не делает
+     @exception UncheckedIOException - возникает при ошибке закрытия или удаления файла
+     */
+    @Override
+    public void close() {
+        IOException failure = null;
+        for (RunReader<T> reader : queue) {
+            try {
+                reader.in.close();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        queue.clear();
+        for (ExternalMergeSort.Run run : runs) {
+            try {
+                Files.deleteIfExists(run.file);
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw new UncheckedIOException(failure);
+        }
+    }
+
+    /**
+     Метод чтения следующего элемента файла в head и возврата читателя в кучу, прочитанный до конца файл
+     закрывается и удаляется
+     */
+    private void advance(RunReader<T> reader) throws IOException {
+        if (reader.remaining == 0) {
+            reader.in.close();
+            Files.deleteIfExists(reader.run.file);
+            return;
+        }
+        reader.head = serializer.read(reader.in);
+        reader.remaining--;
+        queue.add(reader);
+    }
+}
@@ -0,0 +1,548 @@
+package ru.marzuev.aston.mergesort;
+
+import java.util.Comparator;
+
+/**
+ Класс MergeSortComparator со свойствами <b>comparator</b> и <b>array</b>, устойчивая адаптивная сортировка
+ слиянием в духе TimSort: массив разбивается на уже упорядоченные серии, короткие серии дополняются сортировкой
+ вставками, а серии сливаются с режимом галопа. Почти отсортированный массив сортируется за время, близкое
+ к O(n), равные элементы сохраняют исходный порядок
+ @author Марзуев Владимир
+ @version 1.0
+ */
+public class MergeSortComparator {
+    /**
+     @value Длинна массива, меньше которой слияние не используется, и минимальная граница длинны серии
+     */
+    private static final int MIN_MERGE = 32;
+    /**
+     @value Количество подряд выигранных сравнений одной серией, после которого включается режим галопа
+     */
+    private static final int MIN_GALLOP = 7;
+    /**
+     @value Изначальная длинна временного массива для слияния
+     */
+    private static final int INIT_TMP_LENGTH = 256;
+    /**
+     @value Максимальная глубина стека серий, достаточная для массива любой длинны типа int
+     */
+    private static final int MAX_RUN_STACK = 49;
+    private final Comparator<Object> comparator;
+    private final Object[] array;
+    private int minGallop = MIN_GALLOP;
+    private Object[] tmp;
+    private int stackSize = 0;
+    private final int[] runBase = new int[MAX_RUN_STACK];
+    private final int[] runLen = new int[MAX_RUN_STACK];
+
+    public MergeSortComparator(Comparator<Object> comparator, Object[] array) {
+        this.comparator = comparator;
+        this.array = array;
+    }
+
+    /**
+     Метод сортировки подмассива, границы включаются в сортировку
+     @param begin - номер первого элемента подмассива
+     @param end - номер конечного элемента подмассива
+     @exception IllegalArgumentException - возникает, если компаратор нарушает контракт сравнения
+     */
+    public void mergeSort(int begin, int end) {
+        int low = begin;
+        int remaining = end - begin + 1;
+        if (remaining < 2) {
+            return;
+        }
+        if (remaining < MIN_MERGE) {
+            int initRunLen = countRunAndMakeAscending(low, end + 1);
+            binaryInsertionSort(low, end + 1, low + initRunLen);
+            return;
+        }
+        tmp = new Object[Math.min(remaining >>> 1, INIT_TMP_LENGTH)];
+        stackSize = 0;
+        int minRun = minRunLength(remaining);
+        do {
+            int runLength = countRunAndMakeAscending(low, end + 1);
+            if (runLength < minRun) {
+                int force = Math.min(remaining, minRun);
+                binaryInsertionSort(low, low + force, low + runLength);
+                runLength = force;
+            }
+            pushRun(low, runLength);
+            mergeCollapse();
+            low += runLength;
+            remaining -= runLength;
+        } while (remaining != 0);
+        mergeForceCollapse();
+        tmp = null;
+    }
+
+    /**
+     Метод вычисления минимальной длинны серии: для длинны массива n возвращается число от MIN_MERGE / 2
+     до MIN_MERGE, при котором n / minRun близко к степени двойки и слияния получаются сбалансированными
+     @param length - длинна сортируемого подмассива
+     @return int - минимальная длинна серии
+     */
+    private static int minRunLength(int length) {
+        int remainder = 0;
+        while (length >= MIN_MERGE) {
+            remainder |= (length & 1);
+            length >>= 1;
+        }
+        return length + remainder;
+    }
+
+    /**
+     Метод поиска серии, начинающейся с low: неубывающая серия остается как есть, строго убывающая
+     переворачивается, строгость нужна для сохранения устойчивости
+     @param low - номер первого элемента серии
+     @param high - номер, следующий за последним элементом подмассива
+     @return int - длинна найденной серии
+     */
+    private int countRunAndMakeAscending(int low, int high) {
+        int runHigh = low + 1;
+        if (runHigh == high) {
+            return 1;
+        }
+        if (comparator.compare(array[runHigh++], array[low]) < 0) {
+            while (runHigh < high && comparator.compare(array[runHigh], array[runHigh - 1]) < 0) {
+                runHigh++;
+            }
+            reverseRange(low, runHigh);
+        } else {
+            while (runHigh < high && comparator.compare(array[runHigh], array[runHigh - 1]) >= 0) {
+                runHigh++;
+            }
+        }
+        return runHigh - low;
+    }
+
+    private void reverseRange(int low, int high) {
+        high--;
+        while (low < high) {
+            Object element = array[low];
+            array[low++] = array[high];
+            array[high--] = element;
+        }
+    }
+
+    /**
+     Метод сортировки вставками с бинарным поиском места вставки, элементы [low, start) уже отсортированы
+     @param low - номер первого элемента подмассива
+     @param high - номер, следующий за последним элементом подмассива
+     @param start - номер первого неотсортированного элемента
+     */
+    private void binaryInsertionSort(int low, int high, int start) {
+        if (start == low) {
+            start++;
+        }
+        for (; start < high; start++) {
+            Object pivot = array[start];
+            int left = low;
+            int right = start;
+            while (left < right) {
+                int middle = (left + right) >>> 1;
+                if (comparator.compare(pivot, array[middle]) < 0) {
+                    right = middle;
+                } else {
+                    left = middle + 1;
+                }
+            }
+            System.arraycopy(array, left, array, left + 1, start - left);
+            array[left] = pivot;
+        }
+    }
+
+    private void pushRun(int base, int length) {
+        runBase[stackSize] = base;
+        runLen[stackSize] = length;
+        stackSize++;
+    }
+
+    /**
+     Метод слияния серий на вершине стека, пока длинны серий не убывают быстрее чисел Фибоначчи,
+     это держит глубину стека логарифмической, а слияния сбалансированными
+     */
+    private void mergeCollapse() {
+        while (stackSize > 1) {
+            int n = stackSize - 2;
+            if (n > 0 && runLen[n - 1] <= runLen[n] + runLen[n + 1]
+                    || n > 1 && runLen[n - 2] <= runLen[n] + runLen[n - 1]) {
+                if (runLen[n - 1] < runLen[n + 1]) {
+                    n--;
+                }
+            } else if (runLen[n] > runLen[n + 1]) {
+                break;
+            }
+            mergeAt(n);
+        }
+    }
+
+    private void mergeForceCollapse() {
+        while (stackSize > 1) {
+            int n = stackSize - 2;
+            if (n > 0 && runLen[n - 1] < runLen[n + 1]) {
+                n--;
+            }
+            mergeAt(n);
+        }
+    }
+
+    /**
+     Метод слияния серий с номерами i и i + 1 в стеке, элементы первой серии, уже стоящие на своих местах,
+     и элементы второй, стоящие на своих местах в конце, отсекаются галопом до слияния
+     @param i - номер первой из сливаемых серий в стеке
+     */
+    private void mergeAt(int i) {
+        int base1 = runBase[i];
+        int len1 = runLen[i];
+        int base2 = runBase[i + 1];
+        int len2 = runLen[i + 1];
+
+        runLen[i] = len1 + len2;
+        if (i == stackSize - 3) {
+            runBase[i + 1] = runBase[i + 2];
+            runLen[i + 1] = runLen[i + 2];
+        }
+        stackSize--;
+
+        int skipped = gallopRight(array[base2], array, base1, len1, 0);
+        base1 += skipped;
+        len1 -= skipped;
+        if (len1 == 0) {
+            return;
+        }
+        len2 = gallopLeft(array[base1 + len1 - 1], array, base2, len2, len2 - 1);
+        if (len2 == 0) {
+            return;
+        }
+        if (len1 <= len2) {
+            mergeLow(base1, len1, base2, len2);
+        } else {
+            mergeHigh(base1, len1, base2, len2);
+        }
+    }
+
+    /**
+     Метод поиска самой левой позиции для вставки key в отсортированный участок экспоненциальным поиском
+     от позиции hint с последующим бинарным поиском
+     @param key - элемент, место которого ищется
+     @param source - массив с отсортированным участком
+     @param base - номер первого элемента участка
+     @param length - длинна участка
+     @param hint - позиция, с которой начинается поиск
+     @return int - смещение от base, все элементы левее которого меньше key
+     */
+    private int gallopLeft(Object key, Object[] source, int base, int length, int hint) {
+        int lastOffset = 0;
+        int offset = 1;
+        if (comparator.compare(key, source[base + hint]) > 0) {
+            int maxOffset = length - hint;
+            while (offset < maxOffset && comparator.compare(key, source[base + hint + offset]) > 0) {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if (offset <= 0) {
+                    offset = maxOffset;
+                }
+            }
+            if (offset > maxOffset) {
+                offset = maxOffset;
+            }
+            lastOffset += hint;
+            offset += hint;
+        } else {
+            int maxOffset = hint + 1;
+            while (offset < maxOffset && comparator.compare(key, source[base + hint - offset]) <= 0) {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if (offset <= 0) {
+                    offset = maxOffset;
+                }
+            }
+            if (offset > maxOffset) {
+                offset = maxOffset;
+            }
+            int temp = lastOffset;
+            lastOffset = hint - offset;
+            offset = hint - temp;
+        }
+        lastOffset++;
+        while (lastOffset < offset) {
+            int middle = lastOffset + ((offset - lastOffset) >>> 1);
+            if (comparator.compare(key, source[base + middle]) > 0) {
+                lastOffset = middle + 1;
+            } else {
+                offset = middle;
+            }
+        }
+        return offset;
+    }
+
+    /**
+     Метод поиска самой правой позиции для вставки key в отсортированный участок, работает как gallopLeft,
+     но равные key элементы остаются левее найденной позиции
+     @param key - элемент, место которого ищется
+     @param source - массив с отсортированным участком
+     @param base - номер первого элемента участка
+     @param length - длинна участка
+     @param hint - позиция, с которой начинается поиск
+     @return int - смещение от base, все элементы левее которого не больше key
+     */
+    private int gallopRight(Object key, Object[] source, int base, int length, int hint) {
+        int lastOffset = 0;
+        int offset = 1;
+        if (comparator.compare(key, source[base + hint]) < 0) {
+            int maxOffset = hint + 1;
+            while (offset < maxOffset && comparator.compare(key, source[base + hint - offset]) < 0) {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if (offset <= 0) {
+                    offset = maxOffset;
+                }
+            }
+            if (offset > maxOffset) {
+                offset = maxOffset;
+            }
+            int temp = lastOffset;
+            lastOffset = hint - offset;
+            offset = hint - temp;
+        } else {
+            int maxOffset = length - hint;
+            while (offset < maxOffset && comparator.compare(key, source[base + hint + offset]) >= 0) {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if (offset <= 0) {
+                    offset = maxOffset;
+                }
+            }
+            if (offset > maxOffset) {
+                offset = maxOffset;
+            }
+            lastOffset += hint;
+            offset += hint;
+        }
+        lastOffset++;
+        while (lastOffset < offset) {
+            int middle = lastOffset + ((offset - lastOffset) >>> 1);
+            if (comparator.compare(key, source[base + middle]) < 0) {
+                offset = middle;
+            } else {
+                lastOffset = middle + 1;
+            }
+        }
+        return offset;
+    }
+
+    /**
+     Метод слияния соседних серий слева направо, первая серия не длиннее второй и копируется во временный массив
+     @param base1 - номер первого элемента первой серии
+     @param len1 - длинна первой серии
+     @param base2 - номер первого элемента второй серии
+     @param len2 - длинна второй серии
+     */
+    private void mergeLow(int base1, int len1, int base2, int len2) {
+        Object[] a = array;
+        Object[] buffer = ensureTmpLength(len1);
+        int cursor1 = 0;
+        int cursor2 = base2;
+        int dest = base1;
+        System.arraycopy(a, base1, buffer, 0, len1);
+
+        a[dest++] = a[cursor2++];
+        if (--len2 == 0) {
+            System.arraycopy(buffer, cursor1, a, dest, len1);
+            return;
+        }
+        if (len1 == 1) {
+            System.arraycopy(a, cursor2, a, dest, len2);
+            a[dest + len2] = buffer[cursor1];
+            return;
+        }
+
+        int gallop = this.minGallop;
+        outer:
+        while (true) {
+            int count1 = 0;
+            int count2 = 0;
+            do {
+                if (comparator.compare(a[cursor2], buffer[cursor1]) < 0) {
+                    a[dest++] = a[cursor2++];
+                    count2++;
+                    count1 = 0;
+                    if (--len2 == 0) {
+                        break outer;
+                    }
+                } else {
+                    a[dest++] = buffer[cursor1++];
+                    count1++;
+                    count2 = 0;
+                    if (--len1 == 1) {
+                        break outer;
+                    }
+                }
+            } while ((count1 | count2) < gallop);
+
+            do {
+                count1 = gallopRight(a[cursor2], buffer, cursor1, len1, 0);
+                if (count1 != 0) {
+                    System.arraycopy(buffer, cursor1, a, dest, count1);
+                    dest += count1;
+                    cursor1 += count1;
+                    len1 -= count1;
+                    if (len1 <= 1) {
+                        break outer;
+                    }
+                }
+                a[dest++] = a[cursor2++];
+                if (--len2 == 0) {
+                    break outer;
+                }
+                count2 = gallopLeft(buffer[cursor1], a, cursor2, len2, 0);
+                if (count2 != 0) {
+                    System.arraycopy(a, cursor2, a, dest, count2);
+                    dest += count2;
+                    cursor2 += count2;
+                    len2 -= count2;
+                    if (len2 == 0) {
+                        break outer;
+                    }
+                }
+                a[dest++] = buffer[cursor1++];
+                if (--len1 == 1) {
+                    break outer;
+                }
+                gallop--;
+            } while (count1 >= MIN_GALLOP | count2 >= MIN_GALLOP);
+            if (gallop < 0) {
+                gallop = 0;
+            }
+            gallop += 2;
+        }
+        this.minGallop = Math.max(gallop, 1);
+
+        if (len1 == 1) {
+            System.arraycopy(a, cursor2, a, dest, len2);
+            a[dest + len2] = buffer[cursor1];
+        } else if (len1 == 0) {
+            throw new IllegalArgumentException("Comparator Violates Contract");
+        } else {
+            System.arraycopy(buffer, cursor1, a, dest, len1);
+        }
+    }
+
+    /**
+     Метод слияния соседних серий справа налево, вторая серия короче первой и копируется во временный массив
+     @param base1 - номер первого элемента первой серии
+     @param len1 - длинна первой серии
+     @param base2 - номер первого элемента второй серии
+     @param len2 - длинна второй серии
+     */
+    private void mergeHigh(int base1, int len1, int base2, int len2) {
+        Object[] a = array;
+        Object[] buffer = ensureTmpLength(len2);
+        System.arraycopy(a, base2, buffer, 0, len2);
+        int cursor1 = base1 + len1 - 1;
+        int cursor2 = len2 - 1;
+        int dest = base2 + len2 - 1;
+
+        a[dest--] = a[cursor1--];
+        if (--len1 == 0) {
+            System.arraycopy(buffer, 0, a, dest - (len2 - 1), len2);
+            return;
+        }
+        if (len2 == 1) {
+            dest -= len1;
+            cursor1 -= len1;
+            System.arraycopy(a, cursor1 + 1, a, dest + 1, len1);
+            a[dest] = buffer[cursor2];
+            return;
+        }
+
+        int gallop = this.minGallop;
+        outer:
+        while (true) {
+            int count1 = 0;
+            int count2 = 0;
+            do {
+                if (comparator.compare(buffer[cursor2], a[cursor1]) < 0) {
+                    a[dest--] = a[cursor1--];
+                    count1++;
+                    count2 = 0;
+                    if (--len1 == 0) {
+                        break outer;
+                    }
+                } else {
+                    a[dest--] = buffer[cursor2--];
+                    count2++;
+                    count1 = 0;
+                    if (--len2 == 1) {
+                        break outer;
+                    }
+                }
+            } while ((count1 | count2) < gallop);
+
+            do {
+                count1 = len1 - gallopRight(buffer[cursor2], a, base1, len1, len1 - 1);
+                if (count1 != 0) {
+                    dest -= count1;
+                    cursor1 -= count1;
+                    len1 -= count1;
+                    System.arraycopy(a, cursor1 + 1, a, dest + 1, count1);
+                    if (len1 == 0) {
+                        break outer;
+                    }
+                }
+                a[dest--] = buffer[cursor2--];
+                if (--len2 == 1) {
+                    break outer;
+                }
+                count2 = len2 - gallopLeft(a[cursor1], buffer, 0, len2, len2 - 1);
+                if (count2 != 0) {
+                    dest -= count2;
+                    cursor2 -= count2;
+                    len2 -= count2;
+                    System.arraycopy(buffer, cursor2 + 1, a, dest + 1, count2);
+                    if (len2 <= 1) {
+                        break outer;
+                    }
+                }
+                a[dest--] = a[cursor1--];
+                if (--len1 == 0) {
+                    break outer;
+                }
+                gallop--;
+            } while (count1 >= MIN_GALLOP | count2 >= MIN_GALLOP);
+            if (gallop < 0) {
+                gallop = 0;
+            }
+            gallop += 2;
+        }
+        this.minGallop = Math.max(gallop, 1);
+
+        if (len2 == 1) {
+            dest -= len1;
+            cursor1 -= len1;
+            System.arraycopy(a, cursor1 + 1, a, dest + 1, len1);
+            a[dest] = buffer[cursor2];
+        } else if (len2 == 0) {
+            throw new IllegalArgumentException("Comparator Violates Contract");
+        } else {
+            System.arraycopy(buffer, 0, a, dest - (len2 - 1), len2);
+        }
+    }
+
+    /**
+     Метод расширения временного массива, длинна увеличивается до ближайшей степени двойки
+     @param minLength - требуемая длинна
+     @return Object[] - временный массив длинной не меньше minLength
+     */
+    private Object[] ensureTmpLength(int minLength) {
+        if (tmp.length < minLength) {
+            int length = Integer.highestOneBit(minLength) << 1;
+            if (length < 0) {
+                length = minLength;
+            }
+            tmp = new Object[Math.max(minLength, Math.min(length, array.length >>> 1))];
+        }
+        return tmp;
+    }
+}
@@ -0,0 +1,93 @@
+package ru.marzuev.aston.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ Класс LatencyHistogram со свойством <b>buckets</b>, потокобезопасная гистограмма задержек с корзинами
+ по степеням двойки: в корзину i попадают значения от 2^(i-1) до 2^i - 1 наносекунд, в корзину 0 значение 0.
+ Запись стоит одного увеличения LongAdder, а точность квантилей ограничена двукратным интервалом корзины
+ @author Марзуев Владимир
+ @version 1.0
+ */
+public class LatencyHistogram {
+    /**
+     @value Количество корзин, достаточное для любого неотрицательного long
+     */
+    private static final int BUCKETS = Long.SIZE;
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     Метод записи значения, отрицательное значение записывается как 0
+     @param nanos - задержка в наносекундах
+     */
+    public void record(long nanos) {
+        buckets[bucket(nanos)].increment();
+    }
+
+    /**
+     Метод возвращения количества записанных значений
+     @return long - количество значений
+     */
+    public long count() {
+        long count = 0;
+        for (LongAdder bucket : buckets) {
+            count += bucket.sum();
+        }
+        return count;
+    }
+
+    /**
+     Метод возвращения количества значений в корзине
+     @param bucket - номер корзины от 0 до 63
+     @return long - количество значений
+     */
+    public long bucketCount(int bucket) {
+        return buckets[bucket].sum();
+    }
+
+    /**
+     Метод оценки квантиля сверху по верхней границе корзины
+     @param quantile - квантиль от 0 до 1
+     @return long - верхняя граница корзины в наносекундах, 0 если значений нет
+     @exception IllegalArgumentException - возникает если квантиль вне отрезка от 0 до 1
+     */
+    public long quantile(double quantile) {
+        if (quantile < 0 || quantile > 1) {
+            throw new IllegalArgumentException("Quantile Is Wrong");
+        }
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+            total += counts[i];
+        }
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank && seen > 0) {
+                return i == BUCKETS - 1 ? Long.MAX_VALUE : (1L << i) - 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     Метод сброса всех корзин
+     */
+    public void reset() {
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+    }
+
+    private static int bucket(long nanos) {
+        return nanos <= 0 ? 0 : Long.SIZE - Long.numberOfLeadingZeros(nanos);
+    }
+}
@@ -0,0 +1,176 @@
+package ru.marzuev.aston.metrics;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ Класс ListMetrics со свойствами <b>resizes</b>, <b>copiedElements</b>, <b>shiftedElements</b> и <b>comparisons</b>,
+ счетчики и гистограммы задержек списка. Подключается к MyArrayList методом setMetrics, пока метрики не подключены,
+ список не выполняет никаких дополнительных действий, кроме проверки поля на null. Счетчики построены на LongAdder,
+ поэтому один объект можно разделять между списками и потоками. Копирование массива длинной от
+ largeResizeThreshold записывается событием ResizeEvent, а сортировка событием SortEvent в JDK Flight Recorder
+ @author Марзуев Владимир
+ @version 1.0
+ */
+public class ListMetrics {
+    /**
+     @value Емкость, начиная с которой копирование массива записывается в JDK Flight Recorder, по умолчанию
+     */
+    private static final int DEFAULT_LARGE_RESIZE_THRESHOLD = 1 << 20;
+    private final LongAdder resizes = new LongAdder();
+    private final LongAdder copiedElements = new LongAdder();
+    private final LongAdder shiftedElements = new LongAdder();
+    private final LongAdder comparisons = new LongAdder();
+    private final LatencyHistogram sortLatency = new LatencyHistogram();
+    private final LatencyHistogram searchLatency = new LatencyHistogram();
+    private final List<MetricsListener> listeners = new CopyOnWriteArrayList<>();
+    private final int largeResizeThreshold;
+
+    /**
+     Конструктор без параметров, порог записи копирования равен DEFAULT_LARGE_RESIZE_THRESHOLD
+     */
+    public ListMetrics() {
+        this(DEFAULT_LARGE_RESIZE_THRESHOLD);
+    }
+
+    /**
+     Конструктор с параметром указывающий порог записи копирования в JDK Flight Recorder
+     @param largeResizeThreshold - емкость, начиная с которой записывается событие ResizeEvent
+     */
+    public ListMetrics(int largeResizeThreshold) {
+        this.largeResizeThreshold = largeResizeThreshold;
+    }
+
+    /**
+     Метод подключения получателя событий
+     @param listener - получатель событий
+     */
+    public void addListener(MetricsListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     Метод отключения получателя событий
+     @param listener - получатель событий
+     */
+    public void removeListener(MetricsListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     Метод учета копирования внутреннего массива при расширении или сокращении
+     @param oldCapacity - емкость до изменения
+     @param newCapacity - емкость после изменения
+     @param copied - количество скопированных элементов
+     @param nanos - время копирования в наносекундах
+     */
+    public void resized(int oldCapacity, int newCapacity, int copied, long nanos) {
+        resizes.increment();
+        copiedElements.add(copied);
+        if (Math.max(oldCapacity, newCapacity) >= largeResizeThreshold) {
+            ResizeEvent event = new ResizeEvent();
+            if (event.isEnabled()) {
+                event.oldCapacity = oldCapacity;
+                event.newCapacity = newCapacity;
+                event.commit();
+            }
+        }
+        for (MetricsListener listener : listeners) {
+            listener.onResize(oldCapacity, newCapacity, nanos);
+        }
+    }
+
+    /**
+     Метод учета сдвига элементов внутри массива при вставке или удалении
+     @param count - количество сдвинутых элементов
+     */
+    public void shifted(int count) {
+        shiftedElements.add(count);
+    }
+
+    /**
+     Метод начала учета сортировки, время отсчитывается с момента вызова
+     @param algorithm - название метода сортировки
+     @param size - количество сортируемых элементов
+     @param comparator - компаратор сортировки
+     @return SortTimer - замер, компаратор которого нужно передать сортировке, а после нее вызвать finish
+     */
+    public SortTimer startSort(String algorithm, int size, Comparator<Object> comparator) {
+        return new SortTimer(this, algorithm, size, comparator);
+    }
+
+    /**
+     Метод учета бинарного поиска
+     @param nanos - время поиска в наносекундах
+     @param comparisons - количество вызовов компаратора
+     */
+    public void searched(long nanos, int comparisons) {
+        this.comparisons.add(comparisons);
+        searchLatency.record(nanos);
+        for (MetricsListener listener : listeners) {
+            listener.onSearch(nanos, comparisons);
+        }
+    }
+
+    void sorted(String algorithm, int size, long nanos, long comparisons) {
+        this.comparisons.add(comparisons);
+        sortLatency.record(nanos);
+        for (MetricsListener listener : listeners) {
+            listener.onSort(algorithm, size, nanos, comparisons);
+        }
+    }
+
+    /**
+     Метод возвращения количества копирований внутреннего массива
+     @return long - количество расширений и сокращений
+     */
+    public long resizes() {
+        return resizes.sum();
+    }
+
+    /**
+     Метод возвращения количества элементов, скопированных при расширениях и сокращениях
+     @return long - количество элементов
+     */
+    public long copiedElements() {
+        return copiedElements.sum();
+    }
+
+    /**
+     Метод возвращения количества элементов, сдвинутых при вставках и удалениях
+     @return long - количество элементов
+     */
+    public long shiftedElements() {
+        return shiftedElements.sum();
+    }
+
+    /**
+     Метод возвращения количества вызовов компаратора при сортировках и поиске
+     @return long - количество вызовов
+     */
+    public long comparisons() {
+        return comparisons.sum();
+    }
+
+    public LatencyHistogram sortLatency() {
+        return sortLatency;
+    }
+
+    public LatencyHistogram searchLatency() {
+        return searchLatency;
+    }
+
+    /**
+     Метод сброса всех счетчиков и гистограмм, получатели событий остаются подключенными
+     */
+    public void reset() {
+        resizes.reset();
+        copiedElements.reset();
+        shiftedElements.reset();
+        comparisons.reset();
+        sortLatency.reset();
+        searchLatency.reset();
+    }
+}
@@ -0,0 +1,37 @@
+package ru.marzuev.aston.metrics;
+
+/**
+ Интерфейс MetricsListener, получатель событий списка, подключается к ListMetrics. Методы вызываются в потоке,
+ выполняющем операцию, поэтому должны работать быстро и не обращаться к самому списку
+ @author Марзуев Владимир
+ @version 1.0
+ */
+public interface MetricsListener {
+
+    /**
+     Метод, вызываемый после расширения или сокращения внутреннего массива
+     @param oldCapacity - емкость до изменения
+     @param newCapacity - емкость после изменения
+     @param nanos - время копирования в наносекундах
+     */
+    default void onResize(int oldCapacity, int newCapacity, long nanos) {
+    }
+
+    /**
+     Метод, вызываемый после сортировки
+     @param algorithm - название метода сортировки
+     @param size - количество отсортированных элементов
+     @param nanos - время сортировки в наносекундах
+     @param comparisons - количество вызовов компаратора
+     */
+    default void onSort(String algorithm, int size, long nanos, long comparisons) {
+    }
+
+    /**
+     Метод, вызываемый после бинарного поиска
+     @param nanos - время поиска в наносекундах
+     @param comparisons - количество вызовов компаратора
+     */
+    default void onSearch(long nanos, int comparisons) {
+    }
+}
@@ -0,0 +1,24 @@
+package ru.marzuev.aston.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ Класс ResizeEvent, событие JDK Flight Recorder о копировании большого внутреннего массива списка
+ @author Марзуев Владимир
+ @version 1.0
+ */
+@Name("ru.marzuev.aston.Resize")
+@Label("List Resize")
+@Category("Aston")
+@Description("Large internal array copy of a MyArrayList")
+class ResizeEvent extends Event {
+    @Label("Old Capacity")
+    int oldCapacity;
+
+    @Label("New Capacity")
+    int newCapacity;
+}
@@ -0,0 +1,30 @@
+package ru.marzuev.aston.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ Класс SortEvent, событие JDK Flight Recorder о долгой сортировке списка, по умолчанию записываются
+ сортировки дольше 10 мс
+ @author Марзуев Владимир
+ @version 1.0
+ */
+@Name("ru.marzuev.aston.Sort")
+@Label("List Sort")
+@Category("Aston")
+@Description("Long MyArrayList sort")
+@Threshold("10 ms")
+class SortEvent extends Event {
+    @Label("Algorithm")
+    String algorithm;
+
+    @Label("Size")
+    int size;
+
+    @Label("Comparisons")
+    long comparisons;
+}
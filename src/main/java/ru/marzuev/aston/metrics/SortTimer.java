@@ -0,0 +1,56 @@
+package ru.marzuev.aston.metrics;
+
+import java.util.Comparator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ Класс SortTimer со свойствами <b>start</b> и <b>comparisons</b>, замер одной сортировки. Компаратор замера
+ считает вызовы исходного компаратора и может вызываться из нескольких потоков параллельной сортировки
+ @author Марзуев Владимир
+ @version 1.0
+ */
+public final class SortTimer {
+    private final ListMetrics metrics;
+    private final String algorithm;
+    private final int size;
+    private final LongAdder comparisons = new LongAdder();
+    private final Comparator<Object> comparator;
+    private final SortEvent event = new SortEvent();
+    private final long start;
+
+    SortTimer(ListMetrics metrics, String algorithm, int size, Comparator<Object> comparator) {
+        this.metrics = metrics;
+        this.algorithm = algorithm;
+        this.size = size;
+        this.comparator = comparator == null ? null : (first, second) -> {
+            comparisons.increment();
+            return comparator.compare(first, second);
+        };
+        event.begin();
+        start = System.nanoTime();
+    }
+
+    /**
+     Метод возвращения считающего компаратора, который передается сортировке вместо исходного
+     @return Comparator - обертка исходного компаратора, null если сортировка без компаратора
+     */
+    public Comparator<Object> comparator() {
+        return comparator;
+    }
+
+    /**
+     Метод завершения замера, записывает время и количество сравнений в метрики и событие SortEvent
+     */
+    public void finish() {
+        long nanos = System.nanoTime() - start;
+        long count = comparisons.sum();
+        event.end();
+        if (event.shouldCommit()) {
+            event.algorithm = algorithm;
+            event.size = size;
+            event.comparisons = count;
+            event.commit();
+        }
+        metrics.sorted(algorithm, size, nanos, count);
+    }
+}
@@ -0,0 +1,174 @@
+package ru.marzuev.aston.myarraylist;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ Класс AppendOnlyChunkedList со свойствами <b>chunks</b>, <b>claimed</b> и <b>drained</b>, неблокирующий список
+ только для добавления, в который пишут несколько производителей. Элементы хранятся в блоках, длинна которых
+ растет вдвое: 64, 128, 256 и так далее, поэтому при росте существующие элементы никогда не копируются.
+ Производитель занимает ячейку атомарным счетчиком, блок публикуется через CAS, а элемент записывается
+ с семантикой release, после чего виден читателям get и потребителю drainTo
+ @author Марзуев Владимир
+ @version 1.0
+ */
+public class AppendOnlyChunkedList<T> {
+    /**
+     @value Двоичный логарифм длинны первого блока
+     */
+    private static final int FIRST_CHUNK_BITS = 6;
+    /**
+     @value Количество блоков, достаточное для индексов любого неотрицательного int
+     */
+    private static final int MAX_CHUNKS = Integer.SIZE - FIRST_CHUNK_BITS;
+    /**
+     @value Максимальное количество элементов, при котором позиция index + длинна первого блока не переполняет int
+     */
+    private static final int MAX_SIZE = Integer.MAX_VALUE - (1 << FIRST_CHUNK_BITS) + 1;
+    private static final VarHandle SLOT = MethodHandles.arrayElementVarHandle(Object[].class);
+    private final AtomicReferenceArray<Object[]> chunks = new AtomicReferenceArray<>(MAX_CHUNKS);
+    private final AtomicInteger claimed = new AtomicInteger();
+    /**
+     Количество элементов, переданных потребителю, изменяется только потоком потребителя
+     */
+    private volatile int drained = 0;
+
+    /**
+     Метод добавления элемента в конец списка, может вызываться одновременно из нескольких потоков
+     @param element - элемент, который требуется добавить, не null
+     @return int - индекс, который получил элемент
+     @exception NullPointerException - возникает, если элемент равен null
+     @exception IllegalStateException - возникает, когда в списке уже MAX_SIZE элементов
+     */
+    public int add(T element) {
+        Objects.requireNonNull(element);
+        int index = claimed.getAndIncrement();
+        if (index < 0 || index >= MAX_SIZE) {
+            claimed.set(MAX_SIZE);
+            throw new IllegalStateException("List Is Full");
+        }
+        int position = index + (1 << FIRST_CHUNK_BITS);
+        int chunkIndex = chunkIndex(position);
+        Object[] chunk = chunks.get(chunkIndex);
+        if (chunk == null) {
+            Object[] created = new Object[1 << (chunkIndex + FIRST_CHUNK_BITS)];
+            chunk = chunks.compareAndSet(chunkIndex, null, created) ? created : chunks.get(chunkIndex);
+        }
+        SLOT.setRelease(chunk, position ^ Integer.highestOneBit(position), element);
+        return index;
+    }
+
+    /**
+     Метод по возвращению элемента списка по определенному индексу, если ячейка уже занята производителем,
+     но элемент еще не записан, метод дожидается записи. Ожидание не ограничено: если производитель занял
+     индекс и завершился, не записав элемент, например из-за OutOfMemoryError при создании блока, вызов
+     для этого индекса не вернется никогда. Без ожидания можно читать только индексы меньше drainedCount
+     @param index - индекс списка, по которому возвращается элемент
+     @return T - возвращаемый элемент списка
+     @exception ArrayIndexOutOfBoundsException - возникает если указан не валидный индекс
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new ArrayIndexOutOfBoundsException("Index Is Wrong");
+        }
+        int position = index + (1 << FIRST_CHUNK_BITS);
+        int chunkIndex = chunkIndex(position);
+        Object[] chunk;
+        while ((chunk = chunks.get(chunkIndex)) == null) {
+            Thread.onSpinWait();
+        }
+        int offset = position ^ Integer.highestOneBit(position);
+        Object element;
+        while ((element = SLOT.getAcquire(chunk, offset)) == null) {
+            Thread.onSpinWait();
+        }
+        return (T) element;
+    }
+
+    /**
+     Метод передачи потребителю элементов, добавленных с прошлого вызова, в порядке индексов. Передача
+     останавливается на первой ячейке, которая занята, но еще не записана, поэтому порядок не нарушается.
+     Счетчик переданных элементов сохраняется и при исключении получателя, поэтому принятые элементы
+     не передаются повторно, а элемент, на котором получатель выбросил исключение, будет передан следующим
+     вызовом. Должен вызываться только одним потоком-потребителем
+     @param sink - получатель элементов
+     @return int - количество переданных элементов
+     */
+    @SuppressWarnings("unchecked")
+    public int drainTo(Consumer<? super T> sink) {
+        int from = drained;
+        int to = size();
+        int index = from;
+        try {
+            while (index < to) {
+                int position = index + (1 << FIRST_CHUNK_BITS);
+                Object[] chunk = chunks.get(chunkIndex(position));
+                if (chunk == null) {
+                    break;
+                }
+                int offset = position ^ Integer.highestOneBit(position);
+                int chunkEnd = Math.min(to, index + (chunk.length - offset));
+                Object element = null;
+                while (index < chunkEnd && (element = SLOT.getAcquire(chunk, offset)) != null) {
+                    sink.accept((T) element);
+                    index++;
+                    offset++;
+                }
+                if (element == null) {
+                    break;
+                }
+            }
+        } finally {
+            drained = index;
+        }
+        return index - from;
+    }
+
+    /**
+     Метод передачи новых элементов в другой список, работает как drainTo с получателем
+     @param target - список, в конец которого добавляются элементы
+     @return int - количество переданных элементов
+     */
+    public int drainTo(MyList<? super T> target) {
+        return drainTo(target::add);
+    }
+
+    /**
+     Метод возвращения количества занятых ячеек, включая ячейки, элементы которых еще записываются
+     @return int - размер списка
+     */
+    public int size() {
+        int size = claimed.get();
+        return size < 0 || size > MAX_SIZE ? MAX_SIZE : size;
+    }
+
+    /**
+     Метод, который показывает пуст список или нет
+     @return boolean - true если пуст, false если нет
+     */
+    public boolean isEmpty() {
+        return claimed.get() == 0;
+    }
+
+    /**
+     Метод возвращения количества элементов, уже переданных потребителю
+     @return int - количество переданных элементов
+     */
+    public int drainedCount() {
+        return drained;
+    }
+
+    /**
+     Метод вычисления номера блока по позиции, сдвинутой на длинну первого блока
+     @param position - индекс элемента плюс длинна первого блока
+     @return int - номер блока
+     */
+    private static int chunkIndex(int position) {
+        return Integer.SIZE - 1 - Integer.numberOfLeadingZeros(position) - FIRST_CHUNK_BITS;
+    }
+}
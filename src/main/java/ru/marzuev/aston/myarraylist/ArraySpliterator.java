@@ -0,0 +1,70 @@
+package ru.marzuev.aston.myarraylist;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ Класс ArraySpliterator со свойствами <b>array</b>, <b>index</b> и <b>fence</b>, разделитель диапазона
+ внутреннего массива списка, trySplit отдает левую половину диапазона без копирования элементов
+ @author Марзуев Владимир
+ @version 1.0
+ */
+class ArraySpliterator<T> implements Spliterator<T> {
+    private final Object[] array;
+    private int index;
+    private final int fence;
+
+    /**
+     Конструктор разделителя по диапазону массива
+     @param array - массив элементов
+     @param index - индекс первого элемента диапазона
+     @param fence - индекс, следующий за последним элементом диапазона
+     */
+    ArraySpliterator(Object[] array, int index, int fence) {
+        this.array = array;
+        this.index = index;
+        this.fence = fence;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (index < fence) {
+            action.accept((T) array[index++]);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEachRemaining(Consumer<? super T> action) {
+        Object[] elements = array;
+        int end = fence;
+        for (int i = index; i < end; i++) {
+            action.accept((T) elements[i]);
+        }
+        index = end;
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        int low = index;
+        int middle = (low + fence) >>> 1;
+        if (low >= middle) {
+            return null;
+        }
+        index = middle;
+        return new ArraySpliterator<>(array, low, middle);
+    }
+
+    @Override
+    public long estimateSize() {
+        return fence - index;
+    }
+
+    @Override
+    public int characteristics() {
+        return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+    }
+}
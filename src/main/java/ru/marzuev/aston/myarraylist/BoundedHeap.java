@@ -0,0 +1,99 @@
+package ru.marzuev.aston.myarraylist;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ Класс BoundedHeap со свойствами <b>heap</b>, <b>size</b> и <b>capacity</b>, ограниченная куча для потокового
+ выбора k наименьших элементов. В корне кучи хранится наибольший из отобранных элементов, поэтому каждый новый
+ элемент сравнивается с ним один раз и заменяет его, только если меньше. Обработка n элементов стоит
+ O(n log k) сравнений и O(k) памяти, исходные данные не изменяются
+ @author Марзуев Владимир
+ @version 1.0
+ */
+public class BoundedHeap<T> {
+    private final Comparator<Object> comparator;
+    private final Object[] heap;
+    private int size = 0;
+
+    /**
+     Конструктор с параметрами указывающими количество отбираемых элементов и порядок
+     @param capacity - количество отбираемых наименьших элементов
+     @param comparator - компаратор по которому сравниваются элементы
+     @exception IllegalArgumentException - возникает если емкость отрицательна
+     */
+    public BoundedHeap(int capacity, Comparator<Object> comparator) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity Is Wrong");
+        }
+        this.comparator = comparator;
+        this.heap = new Object[capacity];
+    }
+
+    /**
+     Метод предложения элемента куче: пока куча не заполнена, элемент добавляется, затем он заменяет
+     наибольший отобранный элемент, если меньше его
+     @param element - предлагаемый элемент
+     @return boolean - true если элемент отобран
+     */
+    public boolean offer(T element) {
+        if (size < heap.length) {
+            int node = size++;
+            while (node > 0) {
+                int parent = (node - 1) >>> 1;
+                if (comparator.compare(heap[parent], element) >= 0) {
+                    break;
+                }
+                heap[node] = heap[parent];
+                node = parent;
+            }
+            heap[node] = element;
+            return true;
+        }
+        if (size == 0 || comparator.compare(element, heap[0]) >= 0) {
+            return false;
+        }
+        siftDown(element);
+        return true;
+    }
+
+    /**
+     Метод возвращения наибольшего из отобранных элементов
+     @return T - корень кучи или null, если куча пуста
+     */
+    @SuppressWarnings("unchecked")
+    public T peek() {
+        return size == 0 ? null : (T) heap[0];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     Метод получения отобранных элементов в порядке возрастания, куча не изменяется
+     @return MyArrayList - новый отсортированный список из size элементов
+     */
+    public MyArrayList<T> toSortedList() {
+        MyArrayList<T> list = new MyArrayList<>(Arrays.copyOf(heap, size), size);
+        list.quickSort(comparator);
+        return list;
+    }
+
+    private void siftDown(Object element) {
+        int node = 0;
+        int half = size >>> 1;
+        while (node < half) {
+            int child = 2 * node + 1;
+            if (child + 1 < size && comparator.compare(heap[child], heap[child + 1]) < 0) {
+                child++;
+            }
+            if (comparator.compare(element, heap[child]) >= 0) {
+                break;
+            }
+            heap[node] = heap[child];
+            node = child;
+        }
+        heap[node] = element;
+    }
+}
@@ -0,0 +1,34 @@
+package ru.marzuev.aston.myarraylist;
+
+/**
+ Интерфейс CapacityPolicy, политика расширения и сокращения внутреннего массива списка
+ @author Марзуев Владимир
+ @version 1.0
+ */
+public interface CapacityPolicy {
+
+    /**
+     Метод вычисления новой емкости внутреннего массива при расширении
+     @param capacity - текущая емкость массива
+     @param minCapacity - минимальная емкость, которая требуется после расширения
+     @return int - новая емкость, не меньше minCapacity
+     */
+    int grow(int capacity, int minCapacity);
+
+    /**
+     Метод вычисления новой емкости внутреннего массива после удаления элементов
+     @param capacity - текущая емкость массива
+     @param size - текущее количество элементов в списке
+     @return int - новая емкость, не меньше size, если сокращение не требуется, то возвращается capacity
+     */
+    int shrink(int capacity, int size);
+
+    /**
+     Метод возвращения политики по умолчанию: расширение в 1.5 раза, сокращение вдвое от заполненности
+     при заполнении массива на четверть и меньше
+     @return CapacityPolicy - политика по умолчанию
+     */
+    static CapacityPolicy defaultPolicy() {
+        return HysteresisCapacityPolicy.DEFAULT;
+    }
+}
@@ -0,0 +1,308 @@
+package ru.marzuev.aston.myarraylist;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ Класс CompressedSortedIntList со свойствами <b>firstValues</b>, <b>data</b> и <b>size</b>, неизменяемый сжатый
+ список неубывающих значений int. Значения разбиты на блоки по BLOCK_SIZE, для каждого блока в индексе пропусков
+ firstValues хранится первое значение, а остальные хранятся разностями соседних значений: из разностей вычитается
+ наименьшая разность блока (frame of reference), и остаток упаковывается в минимальное для блока число бит.
+ Для плотных наборов идентификаторов разности почти одинаковы и занимают 0-2 бита вместо 32. Доступ по индексу
+ и поиск распаковывают только один блок, последовательный обход распаковывает каждый блок один раз
+ @author Марзуев Владимир
+ @version 1.0
+ */
+public class CompressedSortedIntList implements Iterable<Integer> {
+    /**
+     @value Количество значений в блоке, степень двойки
+     */
+    public static final int BLOCK_SIZE = 128;
+    private static final int BLOCK_SHIFT = Integer.numberOfTrailingZeros(BLOCK_SIZE);
+    private static final int BLOCK_MASK = BLOCK_SIZE - 1;
+    private final int size;
+    /**
+     Индекс пропусков: первое значение каждого блока
+     */
+    private final int[] firstValues;
+    /**
+     Наименьшая разность соседних значений каждого блока как беззнаковое int
+     */
+    private final int[] references;
+    /**
+     Количество бит на одну упакованную разность каждого блока, от 0 до 32
+     */
+    private final byte[] widths;
+    /**
+     Номер первого слова data каждого блока, блоки начинаются с границы слова
+     */
+    private final int[] wordOffsets;
+    private final long[] data;
+
+    /**
+     Конструктор, сжимающий отсортированный список за один проход, список не изменяется
+     @param sorted - список значений в неубывающем порядке без null
+     @exception IllegalArgumentException - возникает если значения списка убывают
+     */
+    public CompressedSortedIntList(MyList<Integer> sorted) {
+        this.size = sorted.size();
+        int blocks = (size + BLOCK_MASK) >>> BLOCK_SHIFT;
+        this.firstValues = new int[blocks];
+        this.references = new int[blocks];
+        this.widths = new byte[blocks];
+        this.wordOffsets = new int[blocks];
+        long[] words = new long[Math.max(1, blocks)];
+        int wordCount = 0;
+        int[] block = new int[BLOCK_SIZE];
+        int filled = 0;
+        int blockIndex = 0;
+        for (Integer element : sorted) {
+            int value = element;
+            if (filled > 0 && value < block[filled - 1]) {
+                throw new IllegalArgumentException("List Is Not Sorted");
+            }
+            if (filled == BLOCK_SIZE) {
+                words = encode(blockIndex++, block, filled, words, wordCount);
+                wordCount = wordOffsets[blockIndex - 1] + wordsOf(blockIndex - 1, filled);
+                filled = 0;
+            }
+            block[filled++] = value;
+        }
+        if (filled > 0) {
+            words = encode(blockIndex, block, filled, words, wordCount);
+            wordCount = wordOffsets[blockIndex] + wordsOf(blockIndex, filled);
+        }
+        this.data = Arrays.copyOf(words, wordCount);
+    }
+
+    /**
+     Метод получения значения по индексу, распаковываются только разности до индекса внутри его блока
+     @param index - индекс значения
+     @return int - значение
+     @exception ArrayIndexOutOfBoundsException - возникает если указан не валидный индекс
+     */
+    public int get(int index) {
+        if (index >= size || index < 0) {
+            throw new ArrayIndexOutOfBoundsException("Index Is Wrong");
+        }
+        int block = index >>> BLOCK_SHIFT;
+        int position = index & BLOCK_MASK;
+        long value = firstValues[block] + (long) position * Integer.toUnsignedLong(references[block]);
+        int width = widths[block];
+        if (width != 0) {
+            int offset = wordOffsets[block];
+            for (int i = 0; i < position; i++) {
+                value += unpack(offset, width, i);
+            }
+        }
+        return (int) value;
+    }
+
+    /**
+     Метод бинарного поиска значения: по индексу пропусков выбирается блок, который распаковывается и
+     просматривается, при повторах находится первое вхождение
+     @param element - искомое значение
+     @return int - индекс первого равного значения, если -1, то значения нет
+     */
+    public int binarySearch(int element) {
+        int low = 0;
+        int high = firstValues.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (firstValues[mid] < element) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        if (low > 0) {
+            int block = low - 1;
+            int count = blockLength(block);
+            long value = firstValues[block];
+            long reference = Integer.toUnsignedLong(references[block]);
+            int width = widths[block];
+            int offset = wordOffsets[block];
+            for (int i = 1; i < count; i++) {
+                value += reference + (width == 0 ? 0 : unpack(offset, width, i - 1));
+                if (value >= element) {
+                    return value == element ? (block << BLOCK_SHIFT) + i : -1;
+                }
+            }
+        }
+        return low < firstValues.length && firstValues[low] == element ? low << BLOCK_SHIFT : -1;
+    }
+
+    /**
+     Метод, который показывает, содержится ли значение в списке
+     @param element - значение, которое надо искать
+     @return boolean - true если значение найдено, false если нет
+     */
+    public boolean contains(int element) {
+        return binarySearch(element) >= 0;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     Метод распаковки всего списка в массив
+     @return int[] - массив из size значений
+     */
+    public int[] toArray() {
+        int[] result = new int[size];
+        for (int block = 0; block < firstValues.length; block++) {
+            decode(block, result, block << BLOCK_SHIFT);
+        }
+        return result;
+    }
+
+    /**
+     Метод оценки памяти, занятой сжатыми данными и индексом пропусков, без заголовков объектов
+     @return long - количество байт
+     */
+    public long memoryUsage() {
+        return (long) data.length * Long.BYTES + (long) firstValues.length * (3 * Integer.BYTES + 1);
+    }
+
+    /**
+     Метод получения итератора, который распаковывает по одному блоку в буфер
+     @return PrimitiveIterator.OfInt - итератор значений без упаковки в Integer при вызове nextInt
+     */
+    @Override
+    public PrimitiveIterator.OfInt iterator() {
+        return new BlockIterator();
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+    /**
+     Метод упаковки блока: вычисляются разности, их минимум и ширина остатков, остатки записываются
+     подряд начиная с первого свободного слова
+     @param block - номер блока
+     @param values - значения блока
+     @param count - количество значений блока
+     @param words - текущий массив слов
+     @param wordCount - количество занятых слов
+     @return long[] - массив слов, расширенный при необходимости
+     */
+    private long[] encode(int block, int[] values, int count, long[] words, int wordCount) {
+        firstValues[block] = values[0];
+        wordOffsets[block] = wordCount;
+        long reference = count > 1 ? Long.MAX_VALUE : 0;
+        long maxDelta = 0;
+        for (int i = 1; i < count; i++) {
+            long delta = (long) values[i] - values[i - 1];
+            reference = Math.min(reference, delta);
+            maxDelta = Math.max(maxDelta, delta);
+        }
+        references[block] = (int) reference;
+        int width = Long.SIZE - Long.numberOfLeadingZeros(maxDelta - reference);
+        widths[block] = (byte) width;
+        int needed = wordCount + wordsOf(block, count);
+        if (needed > words.length) {
+            words = Arrays.copyOf(words, Math.max(needed, words.length + (words.length >> 1)));
+        }
+        for (int i = 1; i < count; i++) {
+            long rest = (long) values[i] - values[i - 1] - reference;
+            long bit = (long) (i - 1) * width;
+            int word = wordCount + (int) (bit >>> 6);
+            int shift = (int) (bit & 63);
+            words[word] |= rest << shift;
+            if (shift + width > Long.SIZE) {
+                words[word + 1] |= rest >>> (Long.SIZE - shift);
+            }
+        }
+        return words;
+    }
+
+    /**
+     Метод распаковки всех значений блока в массив
+     @param block - номер блока
+     @param target - массив, в который записываются значения
+     @param from - индекс target для первого значения блока
+     @return int - количество значений блока
+     */
+    private int decode(int block, int[] target, int from) {
+        int count = blockLength(block);
+        long value = firstValues[block];
+        long reference = Integer.toUnsignedLong(references[block]);
+        int width = widths[block];
+        int offset = wordOffsets[block];
+        target[from] = (int) value;
+        for (int i = 1; i < count; i++) {
+            value += reference + (width == 0 ? 0 : unpack(offset, width, i - 1));
+            target[from + i] = (int) value;
+        }
+        return count;
+    }
+
+    /**
+     Метод чтения упакованного остатка разности
+     @param offset - первое слово блока
+     @param width - ширина остатка в битах, больше 0
+     @param index - номер разности в блоке
+     @return long - остаток разности без знака
+     */
+    private long unpack(int offset, int width, int index) {
+        long bit = (long) index * width;
+        int word = offset + (int) (bit >>> 6);
+        int shift = (int) (bit & 63);
+        long value = data[word] >>> shift;
+        if (shift + width > Long.SIZE) {
+            value |= data[word + 1] << (Long.SIZE - shift);
+        }
+        return value & (-1L >>> (Long.SIZE - width));
+    }
+
+    private int blockLength(int block) {
+        return Math.min(BLOCK_SIZE, size - (block << BLOCK_SHIFT));
+    }
+
+    private int wordsOf(int block, int count) {
+        return (int) (((long) (count - 1) * widths[block] + 63) >>> 6);
+    }
+
+    /**
+     Класс BlockIterator со свойствами <b>buffer</b> и <b>index</b>, итератор, распаковывающий блоки по одному
+     */
+    private class BlockIterator implements PrimitiveIterator.OfInt {
+        private final int[] buffer = new int[BLOCK_SIZE];
+        private int index = 0;
+
+        /**
+         Метод итератора, позволяющий узнать, есть ли еще одно значение
+         @return boolean - true если да, false нет
+         */
+        @Override
+        public boolean hasNext() {
+            return index < size;
+        }
+
+        /**
+         Метод итератора получения следующего значения, в начале блока блок распаковывается в буфер
+         @return int - следующее значение
+         @exception NoSuchElementException - возникает, если значения закончились
+         */
+        @Override
+        public int nextInt() {
+            if (index >= size) {
+                throw new NoSuchElementException();
+            }
+            int position = index & BLOCK_MASK;
+            if (position == 0) {
+                decode(index >>> BLOCK_SHIFT, buffer, 0);
+            }
+            index++;
+            return buffer[position];
+        }
+    }
+}
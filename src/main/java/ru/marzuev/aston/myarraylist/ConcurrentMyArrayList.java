@@ -0,0 +1,497 @@
+package ru.marzuev.aston.myarraylist;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ Класс ConcurrentMyArrayList со свойствами <b>list</b> и <b>lock</b>, потокобезопасный список поверх MyArrayList.
+ Чтение get, size, contains, indexOf и binarySearch сначала выполняется оптимистично без блокировки и проверяется
+ штампом StampedLock, при конкурентной записи чтение повторяется под блокировкой чтения, поэтому читатели
+ не мешают друг другу. contains и indexOf используют хеш-индекс или бинарный поиск внутреннего списка, если они
+ доступны, и только indexOf с устаревшими позициями хеш-индекса выполняется под блокировкой записи. Изменения
+ выполняются под блокировкой записи. Итератор, spliterator и forEach работают по копии элементов, сделанной
+ на момент вызова
+ @author Марзуев Владимир
+ @version 1.0
+ */
+public class ConcurrentMyArrayList<T> implements MyList<T> {
+    private final MyArrayList<T> list;
+    private final StampedLock lock = new StampedLock();
+
+    /**
+     Конструктор без параметров, изначальная емкость как у MyArrayList
+     */
+    public ConcurrentMyArrayList() {
+        list = new MyArrayList<>();
+    }
+
+    /**
+     Конструктор с параметром указывающий изначальную емкость внутреннего массива
+     @param capacity - емкость массива
+     */
+    public ConcurrentMyArrayList(int capacity) {
+        list = new MyArrayList<>(capacity);
+    }
+
+    @Override
+    public boolean add(T element) {
+        long stamp = lock.writeLock();
+        try {
+            return list.add(element);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void add(T element, int index) {
+        long stamp = lock.writeLock();
+        try {
+            list.add(element, index);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends T> elements, int index) {
+        long stamp = lock.writeLock();
+        try {
+            return list.addAll(elements, index);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean addAll(T[] elements, int index) {
+        long stamp = lock.writeLock();
+        try {
+            return list.addAll(elements, index);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     Метод атомарного добавления элемента в конец списка, если такого элемента в списке еще нет
+     @param element - элемент, который требуется добавить
+     @return boolean - true если элемент был добавлен
+     */
+    public boolean addIfAbsent(T element) {
+        long stamp = lock.writeLock();
+        try {
+            return !list.contains(element) && list.add(element);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     Метод атомарной замены элемента по индексу результатом функции от текущего значения
+     @param index - индекс элемента
+     @param function - функция вычисления нового значения, вызывается под блокировкой записи
+     и не должна обращаться к этому списку
+     @return T - новое значение элемента
+     @exception ArrayIndexOutOfBoundsException - возникает если указан не валидный индекс
+     */
+    public T compute(int index, UnaryOperator<T> function) {
+        long stamp = lock.writeLock();
+        try {
+            T element = function.apply(list.get(index));
+            list.set(index, element);
+            return element;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     Метод по возвращению элемента списка по определенному индексу, без блокировки, если в это время
+     не было записи
+     @param index - индекс списка, по которому возвращается элемент
+     @return T - возвращаемый элемент списка
+     @exception ArrayIndexOutOfBoundsException - возникает если указан не валидный индекс
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            Object[] elements = list.elementData();
+            int size = list.size();
+            if (index >= 0 && index < size && index < elements.length) {
+                Object element = elements[index];
+                if (lock.validate(stamp)) {
+                    return (T) element;
+                }
+            } else if (lock.validate(stamp)) {
+                throw new ArrayIndexOutOfBoundsException("Index Is Wrong");
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return list.get(index);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public boolean remove(T element) {
+        long stamp = lock.writeLock();
+        try {
+            return list.remove(element);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public T remove(int index) {
+        long stamp = lock.writeLock();
+        try {
+            return list.remove(index);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void removeRange(int from, int to) {
+        long stamp = lock.writeLock();
+        try {
+            list.removeRange(from, to);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super T> filter) {
+        long stamp = lock.writeLock();
+        try {
+            return list.removeIf(filter);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> elements) {
+        long stamp = lock.writeLock();
+        try {
+            return list.retainAll(elements);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void clear() {
+        long stamp = lock.writeLock();
+        try {
+            list.clear();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void quickSort(Comparator<Object> comparator) {
+        long stamp = lock.writeLock();
+        try {
+            list.quickSort(comparator);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void mergeSort(Comparator<Object> comparator) {
+        long stamp = lock.writeLock();
+        try {
+            list.mergeSort(comparator);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     Метод бинарного поиска элемента списка, производится только после сортировки, сначала выполняется
+     оптимистично без блокировки
+     @param element - искомый элемент
+     @param comparator - компаратор по которому будет производиться сравнение объектов
+     @return int - индекс элемента или -1, если элемента нет
+     */
+    @Override
+    public int binarySearch(T element, Comparator<Object> comparator) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                Object[] elements = list.elementData();
+                int size = Math.min(list.size(), elements.length);
+                int answer = binarySearch(elements, size, element, comparator);
+                if (lock.validate(stamp)) {
+                    return answer;
+                }
+            } catch (RuntimeException e) {
+                if (lock.validate(stamp)) {
+                    throw e;
+                }
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return list.binarySearch(element, comparator);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public T set(int index, T element) {
+        long stamp = lock.writeLock();
+        try {
+            return list.set(index, element);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     Метод, который показывает, содержит ли список элемент, сначала выполняется оптимистично без блокировки,
+     с хеш-индексом ответ дают количества вхождений, поэтому позиции никогда не пересчитываются
+     @param element - элемент, который надо искать, может быть null
+     @return boolean - true если элемент найден, false если нет
+     */
+    @Override
+    public boolean contains(T element) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                int answer = optimisticIndexOf(element, false);
+                if (answer != HashIndex.UNKNOWN && lock.validate(stamp)) {
+                    return answer >= 0;
+                }
+            } catch (RuntimeException e) {
+                if (lock.validate(stamp)) {
+                    throw e;
+                }
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return list.contains(element);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     Метод показывающий индекс первого вхождения элемента в списке, сначала выполняется оптимистично
+     без блокировки, исключение equals при несогласованном чтении приводит к повтору под блокировкой.
+     Отсортированный список и список с хеш-индексом не перебираются
+     @param element - искомый элемент, может быть null
+     @return int - индекс элемента или -1, если элемента нет
+     */
+    @Override
+    public int indexOf(T element) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                int answer = optimisticIndexOf(element, true);
+                if (answer != HashIndex.UNKNOWN && lock.validate(stamp)) {
+                    return answer;
+                }
+            } catch (RuntimeException e) {
+                if (lock.validate(stamp)) {
+                    throw e;
+                }
+            }
+        }
+        return lockedIndexOf(element);
+    }
+
+    /**
+     Метод включения хеш-индекса внутреннего списка, см. MyArrayList.enableHashIndex
+     */
+    public void enableHashIndex() {
+        long stamp = lock.writeLock();
+        try {
+            list.enableHashIndex();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     Метод выключения хеш-индекса внутреннего списка
+     */
+    public void disableHashIndex() {
+        long stamp = lock.writeLock();
+        try {
+            list.disableHashIndex();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return Arrays.asList(snapshot()).iterator();
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        T[] elements = snapshot();
+        return new ArraySpliterator<>(elements, 0, elements.length);
+    }
+
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        for (T element : snapshot()) {
+            action.accept(element);
+        }
+    }
+
+    @Override
+    public int size() {
+        long stamp = lock.tryOptimisticRead();
+        int size = list.size();
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                size = list.size();
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(snapshot());
+    }
+
+    /**
+     Метод копирования элементов списка под блокировкой чтения
+     @return T[] - массив длинной size
+     */
+    @SuppressWarnings("unchecked")
+    private T[] snapshot() {
+        long stamp = lock.readLock();
+        try {
+            return (T[]) Arrays.copyOf(list.elementData(), list.size());
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private static int indexOf(Object[] elements, int size, Object element) {
+        for (int i = 0; i < size; i++) {
+            if (element == null ? elements[i] == null : element.equals(elements[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int binarySearch(Object[] elements, int size, Object element, Comparator<Object> comparator) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int compare = comparator.compare(elements[mid], element);
+            if (compare == 0) {
+                return mid;
+            } else if (compare < 0) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     Метод поиска без блокировки по тем же структурам, что и indexOf внутреннего списка: хеш-индекс, бинарный
+     поиск по порядку сортировки или перебор. Результат действителен, только если штамп не изменился
+     @param element - искомый элемент, может быть null
+     @param position - true если нужен индекс первого вхождения, false если достаточно наличия элемента
+     @return int - индекс элемента, -1 если элемента нет, HashIndex.UNKNOWN если без блокировки ответить нельзя
+     */
+    private int optimisticIndexOf(T element, boolean position) {
+        HashIndex index = list.hashIndex();
+        if (index != null) {
+            return index.peek(element, position);
+        }
+        Object[] elements = list.elementData();
+        int size = Math.min(list.size(), elements.length);
+        Comparator<Object> sortedBy = list.getSortedComparator();
+        if (sortedBy != null && element != null) {
+            return sortedIndexOf(elements, size, element, sortedBy);
+        }
+        return indexOf(elements, size, element);
+    }
+
+    /**
+     Метод поиска через indexOf внутреннего списка под блокировкой чтения. Если позиции хеш-индекса устарели,
+     поиск их пересчитывает, поэтому блокировка повышается до блокировки записи
+     @param element - искомый элемент, может быть null
+     @return int - индекс элемента или -1, если элемента нет
+     */
+    private int lockedIndexOf(T element) {
+        long stamp = lock.readLock();
+        try {
+            if (list.indexOfRefreshesIndex()) {
+                long writeStamp = lock.tryConvertToWriteLock(stamp);
+                if (writeStamp == 0) {
+                    lock.unlockRead(stamp);
+                    stamp = lock.writeLock();
+                } else {
+                    stamp = writeStamp;
+                }
+            }
+            return list.indexOf(element);
+        } finally {
+            lock.unlock(stamp);
+        }
+    }
+
+    /**
+     Метод поиска первого вхождения в отсортированном массиве: находится первый элемент, не меньший искомого,
+     затем среди равных по компаратору ищется равный по equals, как в MyArrayList.indexOf
+     */
+    private static int sortedIndexOf(Object[] elements, int size, Object element, Comparator<Object> comparator) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (comparator.compare(elements[mid], element) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        for (int i = low; i < size && comparator.compare(elements[i], element) == 0; i++) {
+            if (element.equals(elements[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
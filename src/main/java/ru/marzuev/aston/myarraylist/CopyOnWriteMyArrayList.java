@@ -0,0 +1,310 @@
+package ru.marzuev.aston.myarraylist;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ Класс CopyOnWriteMyArrayList со свойством <b>snapshot</b>, потокобезопасный список с копированием при записи
+ для редко изменяемых таблиц. Чтение и обход выполняются без блокировок по неизменяемому снимку массива,
+ а запись под блокировкой создает новый массив и публикует его одной записью volatile ссылки, поэтому
+ итератор никогда не видит частично сдвинутый массив. Пакетные изменения через mutate копируют массив
+ один раз на весь пакет
+ @author Марзуев Владимир
+ @version 1.0
+ */
+public class CopyOnWriteMyArrayList<T> implements MyList<T> {
+    private static final Snapshot EMPTY = new Snapshot(new Object[0], 0);
+    private final Object lock = new Object();
+    private volatile Snapshot snapshot = EMPTY;
+
+    /**
+     Класс Snapshot со свойствами <b>elements</b> и <b>size</b>, неизменяемый снимок списка, массив снимка
+     после публикации не изменяется
+     */
+    private static final class Snapshot {
+        private final Object[] elements;
+        private final int size;
+
+        private Snapshot(Object[] elements, int size) {
+            this.elements = elements;
+            this.size = size;
+        }
+    }
+
+    /**
+     Метод пакетного изменения списка: действию передается изменяемая копия списка, после завершения действия
+     результат публикуется атомарно, читатели видят либо состояние до пакета, либо после. Копия действительна
+     только внутри действия, и действие не должно обращаться к этому списку. Копия создается с запасом в половину
+     размера, поэтому пакет из такого количества вставок не вызывает повторных копирований
+     @param batch - действие над копией списка
+     */
+    public void mutate(Consumer<MyList<T>> batch) {
+        mutate(-1, batch);
+    }
+
+    /**
+     Метод пакетного изменения списка с подсказкой размера пакета, копия создается с местом под все добавляемые
+     элементы, поэтому весь пакет выполняется за одно копирование массива
+     @param expectedAdditions - ожидаемое количество добавляемых элементов, 0 для пакетов, которые не добавляют
+     элементы, отрицательное значение означает запас по умолчанию
+     @param batch - действие над копией списка
+     */
+    public void mutate(int expectedAdditions, Consumer<MyList<T>> batch) {
+        synchronized (lock) {
+            Snapshot current = snapshot;
+            int extra = expectedAdditions < 0 ? (current.size >> 1) + 1 : expectedAdditions;
+            int capacity = (int) Math.min(Integer.MAX_VALUE, (long) current.size + extra);
+            MyArrayList<T> copy = new MyArrayList<>(Arrays.copyOf(current.elements, capacity), current.size);
+            batch.accept(copy);
+            snapshot = new Snapshot(copy.elementData(), copy.size());
+        }
+    }
+
+    /**
+     Метод возвращения длины массива текущего снимка, больше size на запас, оставленный последним пакетом
+     @return int - длина массива снимка
+     */
+    public int capacity() {
+        return snapshot.elements.length;
+    }
+
+    @Override
+    public boolean add(T element) {
+        synchronized (lock) {
+            Snapshot current = snapshot;
+            Object[] elements = Arrays.copyOf(current.elements, current.size + 1);
+            elements[current.size] = element;
+            snapshot = new Snapshot(elements, current.size + 1);
+            return true;
+        }
+    }
+
+    @Override
+    public void add(T element, int index) {
+        synchronized (lock) {
+            Snapshot current = snapshot;
+            if (index > current.size || index < 0) {
+                throw new ArrayIndexOutOfBoundsException("Index Is Wrong");
+            }
+            Object[] elements = new Object[current.size + 1];
+            System.arraycopy(current.elements, 0, elements, 0, index);
+            elements[index] = element;
+            System.arraycopy(current.elements, index, elements, index + 1, current.size - index);
+            snapshot = new Snapshot(elements, current.size + 1);
+        }
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends T> elements, int index) {
+        boolean[] answer = new boolean[1];
+        mutate(elements.size(), list -> answer[0] = list.addAll(elements, index));
+        return answer[0];
+    }
+
+    @Override
+    public boolean addAll(T[] elements, int index) {
+        boolean[] answer = new boolean[1];
+        mutate(elements.length, list -> answer[0] = list.addAll(elements, index));
+        return answer[0];
+    }
+
+    /**
+     Метод по возвращению элемента списка по определенному индексу, выполняется без блокировки
+     @param index - индекс списка, по которому возвращается элемент
+     @return T - возвращаемый элемент списка
+     @exception ArrayIndexOutOfBoundsException - возникает если указан не валидный индекс
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        Snapshot current = snapshot;
+        if (index >= current.size || index < 0) {
+            throw new ArrayIndexOutOfBoundsException("Index Is Wrong");
+        }
+        return (T) current.elements[index];
+    }
+
+    @Override
+    public boolean remove(T element) {
+        synchronized (lock) {
+            int index = indexOf(element);
+            if (index < 0) {
+                return false;
+            }
+            remove(index);
+            return true;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T remove(int index) {
+        synchronized (lock) {
+            Snapshot current = snapshot;
+            if (index >= current.size || index < 0) {
+                throw new ArrayIndexOutOfBoundsException("Index Is Wrong");
+            }
+            Object[] elements = new Object[current.size - 1];
+            System.arraycopy(current.elements, 0, elements, 0, index);
+            System.arraycopy(current.elements, index + 1, elements, index, current.size - index - 1);
+            snapshot = new Snapshot(elements, current.size - 1);
+            return (T) current.elements[index];
+        }
+    }
+
+    @Override
+    public void removeRange(int from, int to) {
+        mutate(0, list -> list.removeRange(from, to));
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super T> filter) {
+        boolean[] answer = new boolean[1];
+        mutate(0, list -> answer[0] = list.removeIf(filter));
+        return answer[0];
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> elements) {
+        boolean[] answer = new boolean[1];
+        mutate(0, list -> answer[0] = list.retainAll(elements));
+        return answer[0];
+    }
+
+    @Override
+    public void clear() {
+        synchronized (lock) {
+            snapshot = EMPTY;
+        }
+    }
+
+    @Override
+    public void quickSort(Comparator<Object> comparator) {
+        mutate(0, list -> list.quickSort(comparator));
+    }
+
+    @Override
+    public void mergeSort(Comparator<Object> comparator) {
+        mutate(0, list -> list.mergeSort(comparator));
+    }
+
+    /**
+     Метод бинарного поиска элемента списка по текущему снимку, производится только после сортировки
+     @param element - искомый элемент
+     @param comparator - компаратор по которому будет производиться сравнение объектов
+     @return int - индекс элемента или -1, если элемента нет
+     */
+    @Override
+    public int binarySearch(T element, Comparator<Object> comparator) {
+        Snapshot current = snapshot;
+        Object[] elements = current.elements;
+        int low = 0;
+        int high = current.size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int compare = comparator.compare(elements[mid], element);
+            if (compare == 0) {
+                return mid;
+            } else if (compare < 0) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T set(int index, T element) {
+        synchronized (lock) {
+            Snapshot current = snapshot;
+            if (index >= current.size || index < 0) {
+                throw new ArrayIndexOutOfBoundsException("Index Is Wrong");
+            }
+            Object[] elements = Arrays.copyOf(current.elements, current.size);
+            elements[index] = element;
+            snapshot = new Snapshot(elements, current.size);
+            return (T) current.elements[index];
+        }
+    }
+
+    @Override
+    public boolean contains(T element) {
+        return indexOf(element) >= 0;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return snapshot.size == 0;
+    }
+
+    @Override
+    public int indexOf(T element) {
+        Snapshot current = snapshot;
+        Object[] elements = current.elements;
+        for (int i = 0; i < current.size; i++) {
+            if (element == null ? elements[i] == null : element.equals(elements[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     Метод вызова итератора по снимку списка на момент вызова, последующие изменения списка итератор не видит
+     */
+    @Override
+    public Iterator<T> iterator() {
+        Snapshot current = snapshot;
+        return new Iterator<T>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < current.size;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (index >= current.size) {
+                    throw new NoSuchElementException();
+                }
+                return (T) current.elements[index++];
+            }
+        };
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        Snapshot current = snapshot;
+        return new ArraySpliterator<>(current.elements, 0, current.size);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super T> action) {
+        Snapshot current = snapshot;
+        for (int i = 0; i < current.size; i++) {
+            action.accept((T) current.elements[i]);
+        }
+    }
+
+    @Override
+    public int size() {
+        return snapshot.size;
+    }
+
+    @Override
+    public String toString() {
+        Snapshot current = snapshot;
+        return Arrays.toString(Arrays.copyOf(current.elements, current.size));
+    }
+}
@@ -0,0 +1,272 @@
+package ru.marzuev.aston.myarraylist;
+
+import java.util.Arrays;
+
+/**
+ Класс HashIndex со свойствами <b>keys</b>, <b>counts</b> и <b>firsts</b>, вспомогательная хеш-таблица
+ с открытой адресацией для MyArrayList: для каждого различного элемента хранится количество его вхождений
+ и индекс первого вхождения. Количество поддерживается точно при любом изменении списка, поэтому contains
+ работает за ожидаемое O(1). Индексы первых вхождений точны при добавлении в конец, удалении с конца и set,
+ а после сдвигов помечаются устаревшими и пересчитываются одним проходом при следующем indexOf
+ @author Марзуев Владимир
+ @version 1.0
+ */
+class HashIndex {
+    /**
+     @value Изначальная емкость таблицы, всегда степень двойки
+     */
+    private static final int INIT_CAPACITY = 16;
+    /**
+     @value Примерный размер ссылки в байтах при сжатых указателях, используется для оценки памяти
+     */
+    private static final int REFERENCE_SIZE = 4;
+    /**
+     @value Примерный размер заголовка массива в байтах, используется для оценки памяти
+     */
+    private static final int ARRAY_HEADER_SIZE = 16;
+    /**
+     Ключ, которым в таблице представлен элемент null
+     */
+    private static final Object NULL_KEY = new Object();
+    /**
+     @value Результат peek для элемента, которого нет в таблице
+     */
+    static final int ABSENT = -1;
+    /**
+     @value Результат peek, когда ответ без изменения таблицы или без блокировки получить нельзя
+     */
+    static final int UNKNOWN = -2;
+    private Object[] keys;
+    private int[] counts;
+    private int[] firsts;
+    private int distinct = 0;
+    private boolean positionsValid = true;
+
+    HashIndex() {
+        allocate(INIT_CAPACITY);
+    }
+
+    /**
+     Метод учета элемента, появившегося в списке на позиции position
+     @param element - элемент, может быть null
+     @param position - индекс элемента в списке
+     */
+    void increment(Object element, int position) {
+        Object key = element == null ? NULL_KEY : element;
+        int slot = find(key);
+        if (keys[slot] == null) {
+            keys[slot] = key;
+            counts[slot] = 1;
+            firsts[slot] = position;
+            distinct++;
+            if (distinct * 2 > keys.length) {
+                resize(keys.length * 2);
+            }
+        } else {
+            counts[slot]++;
+            if (position < firsts[slot]) {
+                firsts[slot] = position;
+            }
+        }
+    }
+
+    /**
+     Метод учета элемента, удаленного из списка с позиции position
+     @param element - элемент, может быть null
+     @param position - индекс, на котором элемент находился
+     */
+    void decrement(Object element, int position) {
+        int slot = find(element == null ? NULL_KEY : element);
+        if (keys[slot] == null) {
+            return;
+        }
+        if (--counts[slot] == 0) {
+            delete(slot);
+        } else if (firsts[slot] == position) {
+            positionsValid = false;
+        }
+    }
+
+    /**
+     Метод пометки индексов первых вхождений устаревшими, вызывается после сдвига или перестановки элементов
+     */
+    void invalidatePositions() {
+        positionsValid = false;
+    }
+
+    /**
+     Метод проверки наличия элемента в списке
+     @param element - элемент, может быть null
+     @return boolean - true если элемент есть в списке
+     */
+    boolean contains(Object element) {
+        return keys[find(element == null ? NULL_KEY : element)] != null;
+    }
+
+    /**
+     Метод поиска без изменения таблицы для оптимистичного чтения без блокировки: массивы таблицы читаются
+     в локальные переменные, а количество проб ограничено длиной таблицы, поэтому при конкурентном изменении
+     метод всегда завершается, а результат проверяется вызывающим по штампу. Устаревшие позиции не пересчитываются
+     @param element - элемент, может быть null
+     @param position - true если нужен индекс первого вхождения, false если достаточно наличия элемента
+     @return int - индекс первого вхождения или 0 для найденного элемента, если position равен false,
+     ABSENT если элемента нет, UNKNOWN если позиции устарели или таблица изменялась во время поиска
+     */
+    int peek(Object element, boolean position) {
+        Object key = element == null ? NULL_KEY : element;
+        Object[] table = keys;
+        int[] positions = firsts;
+        int mask = table.length - 1;
+        int slot = hash(key) & mask;
+        for (int probes = 0; probes < table.length; probes++) {
+            Object current = table[slot];
+            if (current == null) {
+                return ABSENT;
+            }
+            if (current.equals(key)) {
+                if (!position) {
+                    return 0;
+                }
+                return positionsValid && slot < positions.length ? positions[slot] : UNKNOWN;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return UNKNOWN;
+    }
+
+    /**
+     Метод, который показывает, пересчитает ли следующий indexOf позиции первых вхождений
+     @return boolean - true если позиции устарели
+     */
+    boolean positionsStale() {
+        return !positionsValid;
+    }
+
+    /**
+     Метод поиска индекса первого вхождения элемента, если индексы устарели, они пересчитываются по массиву
+     @param element - элемент, может быть null
+     @param array - внутренний массив списка
+     @param size - размер списка
+     @return int - индекс первого вхождения или -1, если элемента нет
+     */
+    int indexOf(Object element, Object[] array, int size) {
+        int slot = find(element == null ? NULL_KEY : element);
+        if (keys[slot] == null) {
+            return -1;
+        }
+        if (!positionsValid) {
+            refreshPositions(array, size);
+            slot = find(element == null ? NULL_KEY : element);
+        }
+        return firsts[slot];
+    }
+
+    /**
+     Метод полного перестроения таблицы по содержимому списка
+     @param array - внутренний массив списка
+     @param size - размер списка
+     */
+    void rebuild(Object[] array, int size) {
+        int capacity = INIT_CAPACITY;
+        while (capacity < 2L * size && capacity < 1 << 30) {
+            capacity <<= 1;
+        }
+        allocate(capacity);
+        distinct = 0;
+        for (int i = 0; i < size; i++) {
+            increment(array[i], i);
+        }
+        positionsValid = true;
+    }
+
+    /**
+     Метод очищения таблицы, емкость сохраняется
+     */
+    void clear() {
+        Arrays.fill(keys, null);
+        distinct = 0;
+        positionsValid = true;
+    }
+
+    /**
+     Метод оценки памяти, занимаемой таблицей
+     @return long - примерное количество байт
+     */
+    long memoryUsage() {
+        long slots = keys.length;
+        return 3L * ARRAY_HEADER_SIZE + slots * (REFERENCE_SIZE + 2 * Integer.BYTES);
+    }
+
+    /**
+     Метод пересчета индексов первых вхождений проходом по списку с конца, количество вхождений не меняется
+     */
+    private void refreshPositions(Object[] array, int size) {
+        for (int i = size - 1; i >= 0; i--) {
+            firsts[find(array[i] == null ? NULL_KEY : array[i])] = i;
+        }
+        positionsValid = true;
+    }
+
+    /**
+     Метод поиска ячейки ключа линейным пробированием
+     @param key - ключ, не null
+     @return int - ячейка с ключом или первая пустая ячейка, в которую ключ был бы записан
+     */
+    private int find(Object key) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (keys[slot] != null && !keys[slot].equals(key)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     Метод удаления ключа из ячейки со сдвигом следующих ключей цепочки назад, поэтому таблице не нужны
+     метки удаленных ячеек
+     @param slot - ячейка удаляемого ключа
+     */
+    private void delete(int slot) {
+        int mask = keys.length - 1;
+        int hole = slot;
+        int next = (slot + 1) & mask;
+        while (keys[next] != null) {
+            int home = hash(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                counts[hole] = counts[next];
+                firsts[hole] = firsts[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[hole] = null;
+        distinct--;
+    }
+
+    private void resize(int capacity) {
+        Object[] oldKeys = keys;
+        int[] oldCounts = counts;
+        int[] oldFirsts = firsts;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int slot = find(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                counts[slot] = oldCounts[i];
+                firsts[slot] = oldFirsts[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new Object[capacity];
+        counts = new int[capacity];
+        firsts = new int[capacity];
+    }
+
+    private static int hash(Object key) {
+        int hash = key.hashCode() * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,60 @@
+package ru.marzuev.aston.myarraylist;
+
+/**
+ Класс HysteresisCapacityPolicy со свойствами <b>growFactor</b>, <b>shrinkRatio</b> и <b>minCapacity</b>,
+ политика емкости с гистерезисом: массив сокращается только когда заполнен на 1/shrinkRatio и меньше, и то
+ до удвоенного size, поэтому после сокращения остается запас и чередование add/remove не приводит
+ к постоянному копированию массива
+ @author Марзуев Владимир
+ @version 1.0
+ */
+public class HysteresisCapacityPolicy implements CapacityPolicy {
+    /**
+     @value Максимальная длинна массива, которую допускает большинство виртуальных машин
+     */
+    static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+    static final HysteresisCapacityPolicy DEFAULT = new HysteresisCapacityPolicy(1.5, 4, 10);
+    private final double growFactor;
+    private final int shrinkRatio;
+    private final int minCapacity;
+
+    /**
+     Конструктор политики емкости
+     @param growFactor - множитель указыающий во сколько раз увеличится длинна внутреннего массива при расширении
+     @param shrinkRatio - отношение емкости массива к size, при достижении которого произойдет сокращение
+     @param minCapacity - емкость, меньше которой массив не сокращается
+     @exception IllegalArgumentException - возникает, если growFactor не больше 1, shrinkRatio меньше 3
+     или minCapacity отрицательно
+     */
+    public HysteresisCapacityPolicy(double growFactor, int shrinkRatio, int minCapacity) {
+        if (!(growFactor > 1)) {
+            throw new IllegalArgumentException("Grow Factor Is Wrong");
+        }
+        if (shrinkRatio < 3) {
+            throw new IllegalArgumentException("Shrink Ratio Is Wrong");
+        }
+        if (minCapacity < 0) {
+            throw new IllegalArgumentException("Capacity Is Wrong");
+        }
+        this.growFactor = growFactor;
+        this.shrinkRatio = shrinkRatio;
+        this.minCapacity = minCapacity;
+    }
+
+    @Override
+    public int grow(int capacity, int minCapacity) {
+        if (minCapacity > MAX_ARRAY_LENGTH) {
+            throw new IllegalStateException("List Is Full");
+        }
+        long grown = Math.max((long) (capacity * growFactor), capacity + 1L);
+        return (int) Math.max(Math.min(grown, MAX_ARRAY_LENGTH), minCapacity);
+    }
+
+    @Override
+    public int shrink(int capacity, int size) {
+        if (capacity <= minCapacity || (long) size * shrinkRatio > capacity) {
+            return capacity;
+        }
+        return (int) Math.max(minCapacity, Math.min(capacity, size * 2L));
+    }
+}
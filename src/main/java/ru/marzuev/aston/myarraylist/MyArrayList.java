@@ -1,8 +1,19 @@
 package ru.marzuev.aston.myarraylist;
 
+import ru.marzuev.aston.mergesort.MergeSortComparator;
+import ru.marzuev.aston.metrics.ListMetrics;
+import ru.marzuev.aston.metrics.SortTimer;
 import ru.marzuev.aston.quicksort.QuickSortComparator;
+import ru.marzuev.aston.radixsort.RadixSort;
+import ru.marzuev.aston.search.BatchSearch;
+import ru.marzuev.aston.search.EytzingerSearchIndex;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 /**
  Класс MyArrayList со свойствами <b>array</b> и <b>size</b>, собственная частичная реализация класса ArrayList
@@ -14,23 +25,33 @@ public class MyArrayList<T> implements MyList<T>{
      @value Емкость массива который создается изначально при использовании конструктора без параметров
      */
     private static final int INIT_CAPACITY = 10;
+    private static final Object[] EMPTY_ARRAY = new Object[0];
+    private final CapacityPolicy policy;
     /**
-     @value Результа отношения свободного пространства массива к переменной size, при превышении которого,
-     произойдет сокращение длинны внутреннего массива
+     Пул, из которого берутся и в который возвращаются внутренние массивы, null если пул не используется
      */
-    private static final int FREE_SPACE = 4;
-    /**
-     @value Множитель указыающий во сколько раз увеличится длинна внутреннего массива при расширении
-     */
-    private static final double INCREASE_MAX_CAPACITY = 1.5;
+    private final ObjectArrayPool pool;
     private Object[] array ;
     private int size = 0;
+    /**
+     Компаратор, по которому список сейчас отсортирован, или null, если порядок неизвестен. Пока он задан,
+     contains и indexOf используют бинарный поиск, предполагается что компаратор согласован с equals
+     */
+    private Comparator<Object> sortedBy;
+    /**
+     Хеш-индекс элементов для contains и indexOf за ожидаемое O(1), null если режим индекса выключен
+     */
+    private HashIndex hashIndex;
+    /**
+     Метрики списка, null если инструментирование выключено
+     */
+    private ListMetrics metrics;
 
     /**
      Конструктор без параметров изначальная емкость внутреннего массива равна INIT_CAPACITY
      */
     public MyArrayList() {
-        array = new Object[INIT_CAPACITY];
+        this(INIT_CAPACITY, CapacityPolicy.defaultPolicy());
     }
 
     /**
@@ -38,7 +59,55 @@ public class MyArrayList<T> implements MyList<T>{
      @param capacity - емкость массива
      */
     public MyArrayList(int capacity) {
-        array = new Object[capacity];
+        this(capacity, CapacityPolicy.defaultPolicy());
+    }
+
+    /**
+     Конструктор с параметром указывающий политику расширения и сокращения внутреннего массива,
+     изначальная емкость равна INIT_CAPACITY
+     @param policy - политика емкости
+     */
+    public MyArrayList(CapacityPolicy policy) {
+        this(INIT_CAPACITY, policy);
+    }
+
+    /**
+     Конструктор с параметрами указывающими изначальную емкость и политику емкости внутреннего массива
+     @param capacity - емкость массива
+     @param policy - политика емкости
+     @exception IllegalArgumentException - возникает если емкость отрицательна
+     */
+    public MyArrayList(int capacity, CapacityPolicy policy) {
+        this(capacity, policy, null);
+    }
+
+    /**
+     Конструктор с параметрами указывающими изначальную емкость, политику емкости и пул внутренних массивов.
+     Расширения берут массивы из пула и возвращают в него прежние, release возвращает в пул массив списка
+     @param capacity - емкость массива, с пулом округляется вверх до класса размеров пула
+     @param policy - политика емкости
+     @param pool - пул массивов, null если пул не используется
+     @exception IllegalArgumentException - возникает если емкость отрицательна
+     */
+    public MyArrayList(int capacity, CapacityPolicy policy, ObjectArrayPool pool) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity Is Wrong");
+        }
+        this.policy = Objects.requireNonNull(policy);
+        this.pool = pool;
+        array = pool == null || capacity == 0 ? new Object[capacity] : pool.borrow(capacity);
+    }
+
+    /**
+     Конструктор для реализаций этого пакета, список принимает переданный массив как внутренний без копирования
+     @param elements - массив, первые size ячеек которого становятся элементами списка
+     @param size - количество элементов
+     */
+    MyArrayList(Object[] elements, int size) {
+        this.policy = CapacityPolicy.defaultPolicy();
+        this.pool = null;
+        this.array = elements;
+        this.size = size;
     }
 
     /**
@@ -54,7 +123,11 @@ public class MyArrayList<T> implements MyList<T>{
             addArrayLength();
         }
         if (size != Integer.MAX_VALUE) {
+            checkSortedOrder(size - 1, element, size);
             array[size] = element;
+            if (hashIndex != null) {
+                hashIndex.increment(element, size);
+            }
         } else {
             throw new IllegalStateException("List Is Full");
         }
@@ -81,10 +154,17 @@ public class MyArrayList<T> implements MyList<T>{
         }
 
         if (size != Integer.MAX_VALUE) {
-            Object[] newArray = Arrays.copyOfRange(array, index, size);
+            checkSortedOrder(index - 1, element, index);
+            if (metrics != null) {
+                metrics.shifted(size - index);
+            }
+            System.arraycopy(array, index, array, index + 1, size - index);
             array[index] = element;
-            for (int i = 0; i < newArray.length; i++) {
-                array[index + 1 + i] = newArray[i];
+            if (hashIndex != null) {
+                if (index != size) {
+                    hashIndex.invalidatePositions();
+                }
+                hashIndex.increment(element, index);
             }
         } else {
             throw new IllegalStateException("List Is Full");
@@ -92,6 +172,35 @@ public class MyArrayList<T> implements MyList<T>{
         size++;
     }
 
+    /**
+     Метод добавления всех элементов коллекции в определенное место списка, элементы правее индекса сдвигаются
+     один раз на длинну вставки, а внутренний массив расширяется не более одного раза
+     @param elements - коллекция элементов, которые требуется добавить
+     @param index - индекс списка, куда нужно добавить первый элемент коллекции
+     @return boolean - true если список изменился
+     @exception ArrayIndexOutOfBoundsException - возникает если указан не валидный индекс
+     @exception IllegalStateException - возникает, когда после вставки size превысит максимально возможное
+     значение для типа данных int
+     */
+    @Override
+    public boolean addAll(Collection<? extends T> elements, int index) {
+        return insertArray(elements.toArray(), index);
+    }
+
+    /**
+     Метод добавления всех элементов массива в определенное место списка, работает как addAll с коллекцией
+     @param elements - массив элементов, которые требуется добавить
+     @param index - индекс списка, куда нужно добавить первый элемент массива
+     @return boolean - true если список изменился
+     @exception ArrayIndexOutOfBoundsException - возникает если указан не валидный индекс
+     @exception IllegalStateException - возникает, когда после вставки size превысит максимально возможное
+     значение для типа данных int
+     */
+    @Override
+    public boolean addAll(T[] elements, int index) {
+        return insertArray(elements, index);
+    }
+
     /**
      Метод по возвращению элемента списка по определенному индексу
      @param index - индекс списка, по которому возвращается элемент
@@ -107,8 +216,7 @@ public class MyArrayList<T> implements MyList<T>{
     }
 
     /**
-     Метод по удалению элемента из списка, при достижении отношения свободного пространства к size больше чем
-     FREE_SPACE, происходит обрезания длинны внутреннего массива
+     Метод по удалению элемента из списка, после удаления политика емкости может сократить внутренний массив
      @param element - элемент, который требуется удалить
      @return boolean - возвращает true, если элемент найден и удален или false если элемента в списке нет
      */
@@ -116,16 +224,7 @@ public class MyArrayList<T> implements MyList<T>{
     public boolean remove(T element) {
         int answer = indexOf(element);
         if (answer >= 0) {
-            Object[] newArray = Arrays.copyOfRange(array, answer + 1, size);
-            for (int i = 0; i < newArray.length; i++) {
-                array[answer + i] = newArray[i];
-            }
-
-            array[size - 1] = null;
-            size--;
-            if (array.length / size >= FREE_SPACE ) {
-                trimArrayLength();
-            }
+            fastRemove(answer);
             return true;
         } else {
             return false;
@@ -133,8 +232,8 @@ public class MyArrayList<T> implements MyList<T>{
     }
 
     /**
-     Метод по удалению элемента из списка по определенному индексу, при достижении отношения свободного пространства
-     к size больше чем FREE_SPACE, происходит обрезания длинны внутреннего массива
+     Метод по удалению элемента из списка по определенному индексу, после удаления политика емкости может
+     сократить внутренний массив
      @param index - индекс элемента, который требуется удалить
      @return T - возвращает элемент, который был удален
      @exception ArrayIndexOutOfBoundsException - возникает если указан не валидный индекс
@@ -145,27 +244,137 @@ public class MyArrayList<T> implements MyList<T>{
             throw new ArrayIndexOutOfBoundsException("Index Is Wrong");
         }
         T element = (T) array[index];
-        Object[] newArray = Arrays.copyOfRange(array, index + 1, size);
+        fastRemove(index);
+        return element;
+    }
 
-        for (int i = 0; i < newArray.length; i++) {
-            array[index + i] = newArray[i];
+    /**
+     Метод удаления элементов списка в диапазоне индексов [from, to), хвост списка сдвигается за один проход
+     @param from - индекс первого удаляемого элемента
+     @param to - индекс, следующий за последним удаляемым элементом
+     @exception ArrayIndexOutOfBoundsException - возникает если указан не валидный диапазон
+     */
+    @Override
+    public void removeRange(int from, int to) {
+        if (from < 0 || to > size || from > to) {
+            throw new ArrayIndexOutOfBoundsException("Index Is Wrong");
         }
-        array[size - 1] = null;
-        size--;
-        if (array.length / size >= FREE_SPACE ) {
-            trimArrayLength();
+        if (from == to) {
+            return;
         }
-        return element;
+        if (hashIndex != null) {
+            for (int i = from; i < to; i++) {
+                hashIndex.decrement(array[i], i);
+            }
+            if (to != size) {
+                hashIndex.invalidatePositions();
+            }
+        }
+        if (metrics != null) {
+            metrics.shifted(size - to);
+        }
+        System.arraycopy(array, to, array, from, size - to);
+        int newSize = size - (to - from);
+        Arrays.fill(array, newSize, size, null);
+        size = newSize;
+        checkTrimArrayLength();
     }
 
     /**
-     Метод очищения коллекции, приводит все значения к null и обрезает внутренний массив до значения по умолчанию
+     Метод удаления всех элементов, удовлетворяющих условию. Сначала условие вычисляется для всех элементов
+     и удаляемые индексы отмечаются в BitSet, затем оставшиеся элементы уплотняются за один проход с сохранением
+     порядка, поэтому исключение из условия оставляет список без изменений
+     @param filter - условие, при выполнении которого элемент удаляется
+     @return boolean - true если был удален хотя бы один элемент
+     */
+    @Override
+    public boolean removeIf(Predicate<? super T> filter) {
+        BitSet removed = new BitSet(size);
+        for (int i = 0; i < size; i++) {
+            if (filter.test((T) array[i])) {
+                removed.set(i);
+            }
+        }
+        if (removed.isEmpty()) {
+            return false;
+        }
+        int write = removed.nextSetBit(0);
+        for (int read = write; read < size; read++) {
+            if (!removed.get(read)) {
+                array[write++] = array[read];
+            }
+        }
+        Arrays.fill(array, write, size, null);
+        size = write;
+        if (hashIndex != null) {
+            hashIndex.rebuild(array, size);
+        }
+        checkTrimArrayLength();
+        return true;
+    }
+
+    /**
+     Метод, оставляющий в списке только элементы, содержащиеся в переданной коллекции
+     @param elements - коллекция элементов, которые требуется оставить
+     @return boolean - true если был удален хотя бы один элемент
+     */
+    @Override
+    public boolean retainAll(Collection<?> elements) {
+        return removeIf(element -> !elements.contains(element));
+    }
+
+    /**
+     Метод очищения коллекции, приводит все значения к null, емкость внутреннего массива сохраняется,
+     чтобы повторное заполнение не требовало расширений, для освобождения памяти используется trimToSize
      */
     @Override
     public void clear() {
-        Arrays.fill(array, null);
-        array = Arrays.copyOf(array, INIT_CAPACITY);
+        Arrays.fill(array, 0, size, null);
         size = 0;
+        if (hashIndex != null) {
+            hashIndex.clear();
+        }
+    }
+
+    /**
+     Метод освобождения памяти списка в конце его использования: элементы удаляются, а внутренний массив
+     возвращается в пул, если он подключен, иначе отдается сборщику мусора. Список остается пригодным
+     к использованию и при следующем добавлении снова берет массив из пула
+     */
+    public void release() {
+        clear();
+        Object[] retired = array;
+        array = EMPTY_ARRAY;
+        if (pool != null) {
+            pool.giveBack(retired);
+        }
+    }
+
+    /**
+     Метод увеличения емкости внутреннего массива заранее, чтобы последующие вставки не требовали расширений
+     @param minCapacity - минимальная требуемая емкость
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > array.length) {
+            resize(policy.grow(array.length, minCapacity));
+        }
+    }
+
+    /**
+     Метод сокращения емкости внутреннего массива до size
+     */
+    public void trimToSize() {
+        if (size < array.length) {
+            resize(size);
+        }
+    }
+
+    /**
+     Метод возвращения емкости внутреннего массива, не путать с size
+     @return int - длинна внутреннего массива
+     */
+    public int capacity() {
+        return array.length;
     }
 
     /**
@@ -174,8 +383,139 @@ public class MyArrayList<T> implements MyList<T>{
      */
     @Override
     public void quickSort(Comparator<Object> comparator) {
-        QuickSortComparator quickSort = new QuickSortComparator(comparator, array);
+        SortTimer timer = metrics == null ? null : metrics.startSort("quickSort", size, comparator);
+        QuickSortComparator quickSort = new QuickSortComparator(timer == null ? comparator : timer.comparator(), array);
         quickSort.quickSort(0, size - 1);
+        if (timer != null) {
+            timer.finish();
+        }
+        sortedBy = comparator;
+        invalidateHashIndexPositions();
+    }
+
+    /**
+     Метод устойчивой сортировки списка слиянием, вызывается класс MergeSortComparator, равные элементы
+     сохраняют порядок вставки, а почти отсортированный список сортируется за время, близкое к линейному
+     @param comparator - компаратор по которому будет производиться сортировка объектов
+     */
+    @Override
+    public void mergeSort(Comparator<Object> comparator) {
+        SortTimer timer = metrics == null ? null : metrics.startSort("mergeSort", size, comparator);
+        MergeSortComparator mergeSort = new MergeSortComparator(timer == null ? comparator : timer.comparator(), array);
+        mergeSort.mergeSort(0, size - 1);
+        if (timer != null) {
+            timer.finish();
+        }
+        sortedBy = comparator;
+        invalidateHashIndexPositions();
+    }
+
+    /**
+     Метод поразрядной сортировки списка по ключу типа int, вызывается класс RadixSort, ключ извлекается
+     из каждого элемента один раз, компаратор не используется, сортировка устойчива
+     @param key - функция извлечения ключа из элемента
+     */
+    public void sortByIntKey(ToIntFunction<? super T> key) {
+        SortTimer timer = metrics == null ? null : metrics.startSort("sortByIntKey", size, null);
+        RadixSort radixSort = new RadixSort(array);
+        radixSort.sortByIntKey(0, size - 1, key);
+        if (timer != null) {
+            timer.finish();
+        }
+        sortedBy = (first, second) -> Integer.compare(key.applyAsInt((T) first), key.applyAsInt((T) second));
+        invalidateHashIndexPositions();
+    }
+
+    /**
+     Метод поразрядной сортировки списка по ключу типа long, вызывается класс RadixSort, ключ извлекается
+     из каждого элемента один раз, компаратор не используется, сортировка устойчива
+     @param key - функция извлечения ключа из элемента
+     */
+    public void sortByLongKey(ToLongFunction<? super T> key) {
+        SortTimer timer = metrics == null ? null : metrics.startSort("sortByLongKey", size, null);
+        RadixSort radixSort = new RadixSort(array);
+        radixSort.sortByLongKey(0, size - 1, key);
+        if (timer != null) {
+            timer.finish();
+        }
+        sortedBy = (first, second) -> Long.compare(key.applyAsLong((T) first), key.applyAsLong((T) second));
+        invalidateHashIndexPositions();
+    }
+
+    /**
+     Метод выбора k-го по порядку элемента без полной сортировки, вызывается QuickSortComparator.select
+     за O(n) в среднем. Список переставляется частично: левее позиции k оказываются не большие элементы,
+     правее не меньшие. Если список уже отсортирован этим компаратором, элемент возвращается без перестановок
+     @param k - номер элемента в отсортированном порядке, от 0 до size - 1
+     @param comparator - компаратор по которому сравниваются элементы
+     @return T - k-й по порядку элемент
+     @exception ArrayIndexOutOfBoundsException - возникает если указан не валидный номер
+     */
+    public T select(int k, Comparator<Object> comparator) {
+        if (k >= size || k < 0) {
+            throw new ArrayIndexOutOfBoundsException("Index Is Wrong");
+        }
+        if (sortedBy != comparator) {
+            SortTimer timer = metrics == null ? null : metrics.startSort("select", size, comparator);
+            QuickSortComparator quickSort = new QuickSortComparator(timer == null ? comparator : timer.comparator(), array);
+            quickSort.select(0, size - 1, k);
+            if (timer != null) {
+                timer.finish();
+            }
+            sortedBy = null;
+            invalidateHashIndexPositions();
+        }
+        return (T) array[k];
+    }
+
+    /**
+     Метод частичной сортировки: первые k элементов списка становятся наименьшими в порядке возрастания,
+     порядок остальных не определен, выполняется за O(n + k log k)
+     @param k - количество упорядочиваемых элементов, от 0 до size
+     @param comparator - компаратор по которому сравниваются элементы
+     @exception ArrayIndexOutOfBoundsException - возникает если указан не валидный номер
+     */
+    public void partialSort(int k, Comparator<Object> comparator) {
+        if (k > size || k < 0) {
+            throw new ArrayIndexOutOfBoundsException("Index Is Wrong");
+        }
+        if (sortedBy == comparator) {
+            return;
+        }
+        SortTimer timer = metrics == null ? null : metrics.startSort("partialSort", size, comparator);
+        QuickSortComparator quickSort = new QuickSortComparator(timer == null ? comparator : timer.comparator(), array);
+        quickSort.partialSort(0, size - 1, k);
+        if (timer != null) {
+            timer.finish();
+        }
+        sortedBy = k >= size - 1 ? comparator : null;
+        invalidateHashIndexPositions();
+    }
+
+    /**
+     Метод параллельной сортировки списка в общем пуле fork-join
+     @param comparator - компаратор по которому будет производиться сортировка объектов
+     */
+    public void parallelSort(Comparator<Object> comparator) {
+        parallelSort(comparator, ForkJoinPool.commonPool());
+    }
+
+    /**
+     Метод параллельной сортировки списка, вызывается класс QuickSortComparator, большие подмассивы
+     сортируются отдельными задачами пула, а маленькие списки сортируются последовательно
+     @param comparator - компаратор по которому будет производиться сортировка объектов, вызывается
+     из нескольких потоков одновременно
+     @param pool - пул потоков, в котором выполняется сортировка
+     */
+    public void parallelSort(Comparator<Object> comparator, ForkJoinPool pool) {
+        SortTimer timer = metrics == null ? null : metrics.startSort("parallelSort", size, comparator);
+        QuickSortComparator quickSort = new QuickSortComparator(timer == null ? comparator : timer.comparator(), array);
+        quickSort.parallelQuickSort(0, size - 1, pool);
+        if (timer != null) {
+            timer.finish();
+        }
+        sortedBy = comparator;
+        invalidateHashIndexPositions();
     }
 
     /**
@@ -187,24 +527,162 @@ public class MyArrayList<T> implements MyList<T>{
      */
     @Override
     public int binarySearch(T element, Comparator<Object> comparator) {
+        long start = metrics == null ? 0 : System.nanoTime();
         int low = 0;
         int high = size - 1;
         int answer = -1;
+        int comparisons = 0;
 
         while(low <= high) {
-            int mid = (low + high) / 2;
-            if (comparator.compare(array[mid], element) == 0) {
+            int mid = (low + high) >>> 1;
+            int compare = comparator.compare(array[mid], element);
+            comparisons++;
+            if (compare == 0) {
                 answer = mid;
-                return answer;
-            } else if (comparator.compare(element, array[mid]) > 0) {
+                break;
+            } else if (compare < 0) {
                 low = mid + 1;
             } else {
                 high = mid - 1;
             }
         }
+        if (metrics != null) {
+            metrics.searched(System.nanoTime() - start, comparisons);
+        }
         return answer;
     }
 
+    /**
+     Метод подключения метрик, счетчики ведутся с момента подключения
+     @param metrics - метрики списка, null выключает инструментирование
+     */
+    public void setMetrics(ListMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     Метод возвращения подключенных метрик
+     @return ListMetrics - метрики списка или null, если инструментирование выключено
+     */
+    public ListMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     Метод построения неизменяемого индекса для многократного поиска, производится только после сортировки,
+     индекс хранит копию элементов и не отражает последующие изменения списка
+     @param comparator - компаратор, которым был отсортирован список
+     @return EytzingerSearchIndex - индекс с поиском binarySearch, lowerBound и upperBound
+     */
+    public EytzingerSearchIndex<T> buildSearchIndex(Comparator<Object> comparator) {
+        return new EytzingerSearchIndex<>(array, size, comparator);
+    }
+
+    /**
+     Метод пакетного бинарного поиска, производится только после сортировки. Запросы упорядочиваются, если нужно,
+     и проходятся вместе со списком галопом за O(m log(n / m) + m) сравнений вместо O(m log n)
+     @param queries - искомые элементы в любом порядке, список не изменяется
+     @param comparator - компаратор, которым был отсортирован список
+     @return int[] - для каждого запроса индекс первого равного ему элемента списка или -1, если элемента нет
+     */
+    public int[] binarySearchAll(MyList<T> queries, Comparator<Object> comparator) {
+        Object[] elements = queries instanceof MyArrayList ? ((MyArrayList<T>) queries).elementData() : toArray(queries);
+        return new BatchSearch(comparator).searchAll(array, size, elements, queries.size());
+    }
+
+    /**
+     Метод пересечения с другим списком, производится только после сортировки, другой список сортируется
+     в копии, если не упорядочен этим компаратором
+     @param other - список, с которым производится пересечение, не изменяется
+     @param comparator - компаратор, которым был отсортирован список
+     @return int[] - возрастающие индексы элементов списка, равные которым есть в other
+     */
+    public int[] intersect(MyList<T> other, Comparator<Object> comparator) {
+        BatchSearch search = new BatchSearch(comparator);
+        return search.intersect(array, size, sortedElements(other, search, comparator), other.size());
+    }
+
+    /**
+     Метод разности с другим списком, производится только после сортировки, другой список сортируется
+     в копии, если не упорядочен этим компаратором
+     @param other - список, элементы которого исключаются, не изменяется
+     @param comparator - компаратор, которым был отсортирован список
+     @return int[] - возрастающие индексы элементов списка, равных которым нет в other
+     */
+    public int[] difference(MyList<T> other, Comparator<Object> comparator) {
+        BatchSearch search = new BatchSearch(comparator);
+        return search.difference(array, size, sortedElements(other, search, comparator), other.size());
+    }
+
+    /**
+     Метод вставки элемента в отсортированный список на его место по порядку: место находится бинарным поиском,
+     после чего хвост сдвигается один раз, среди равных элементов новый встает последним
+     @param element - элемент, который требуется добавить
+     @return int - индекс, куда был вставлен элемент
+     @exception IllegalStateException - возникает, если список не отсортирован или порядок был нарушен изменениями
+     */
+    public int insertSorted(T element) {
+        if (sortedBy == null) {
+            throw new IllegalStateException("List Is Not Sorted");
+        }
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedBy.compare(array[mid], element) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        add(element, low);
+        return low;
+    }
+
+    /**
+     Метод возвращения компаратора, по которому список сейчас отсортирован
+     @return Comparator - компаратор последней сортировки или null, если после нее порядок был нарушен
+     */
+    public Comparator<Object> getSortedComparator() {
+        return sortedBy;
+    }
+
+    /**
+     Метод включения хеш-индекса: строится хеш-таблица с открытой адресацией от элемента к количеству
+     и первому вхождению, которая поддерживается всеми изменениями списка. contains работает за ожидаемое O(1),
+     indexOf тоже, пока элементы не сдвигались, после сдвига первый indexOf пересчитывает позиции за O(n).
+     Элементы не должны менять hashCode, пока находятся в списке
+     */
+    public void enableHashIndex() {
+        if (hashIndex == null) {
+            hashIndex = new HashIndex();
+            hashIndex.rebuild(array, size);
+        }
+    }
+
+    /**
+     Метод выключения хеш-индекса, память таблицы освобождается
+     */
+    public void disableHashIndex() {
+        hashIndex = null;
+    }
+
+    /**
+     Метод, который показывает включен ли хеш-индекс
+     @return boolean - true если включен
+     */
+    public boolean isHashIndexEnabled() {
+        return hashIndex != null;
+    }
+
+    /**
+     Метод оценки дополнительной памяти, занимаемой хеш-индексом, позволяет решить, стоит ли включать индекс
+     @return long - примерное количество байт, 0 если индекс выключен
+     */
+    public long hashIndexMemoryUsage() {
+        return hashIndex == null ? 0 : hashIndex.memoryUsage();
+    }
+
     /**
      Метод изменения элемента списка по определенному индексу
      @param index - индекс элемента, который будет заменен
@@ -218,7 +696,12 @@ public class MyArrayList<T> implements MyList<T>{
             throw new ArrayIndexOutOfBoundsException("Index Is Wrong");
         }
         T oldT = (T) array[index];
+        checkSortedOrder(index - 1, element, index + 1);
         array[index] = element;
+        if (hashIndex != null) {
+            hashIndex.decrement(oldT, index);
+            hashIndex.increment(element, index);
+        }
         return oldT;
     }
 
@@ -229,6 +712,9 @@ public class MyArrayList<T> implements MyList<T>{
      */
     @Override
     public boolean contains(T element) {
+        if (hashIndex != null) {
+            return hashIndex.contains(element);
+        }
         return indexOf(element) >= 0;
     }
 
@@ -241,12 +727,20 @@ public class MyArrayList<T> implements MyList<T>{
         return size == 0;
     }
     /**
-     Метод показывающий индекс первого вхождения элемента в списке, принимает и null значение
+     Метод показывающий индекс первого вхождения элемента в списке, принимает и null значение. Если список
+     отсортирован одним из методов сортировки и с тех пор не потерял порядок, то используется бинарный поиск,
+     а при включенном хеш-индексе поиск идет по нему
      @return int - если больше или равно 0, то это и есть индекс, а если равен -1, то элемента в списке
      не существует
      */
     @Override
     public int indexOf(T element) {
+        if (hashIndex != null) {
+            return hashIndex.indexOf(element, array, size);
+        }
+        if (sortedBy != null && element != null) {
+            return sortedIndexOf(element);
+        }
         if (element != null) {
             for (int i = 0; i < size; i++) {
                 if (element.equals(array[i])) {
@@ -270,33 +764,34 @@ public class MyArrayList<T> implements MyList<T>{
      */
     @Override
     public Iterator<T> iterator() {
-        return new Iterator<T>() {
-            private int index = 0;
-
-            /**
-             Метод итератора, позволяющий узнать, есть ли еще один элемент в данном списке
-             @return boolean - true если да, false нет, так же при false обнуляется значение <b>index</b>
-             */
-            @Override
-            public boolean hasNext() {
-                boolean answer = index < size;
-                if (!answer) {
-                    index = 0;
-                }
-                return answer;
-            }
-            /**
-             Метод итератора получения следующего элемента списка
-             @return T - следующий элемент в списке
-             */
-            @Override
-            public T next() {
-                T element = (T) array[index];
-                index++;
-                return element;
-            }
-        };
+        return new MyArrayListIterator();
+    }
+
+    /**
+     Метод возвращения разделителя по внутреннему массиву для Stream API: разделение делит диапазон индексов
+     пополам без копирования, поэтому parallelStream равномерно распределяет элементы между потоками.
+     Границы фиксируются при создании, список не должен изменяться во время обхода
+     @return Spliterator - разделитель с характеристиками ORDERED, SIZED и SUBSIZED
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new ArraySpliterator<>(array, 0, size);
+    }
+
+    /**
+     Метод выполнения действия для каждого элемента списка по порядку прямым проходом по внутреннему массиву,
+     без создания итератора
+     @param action - действие над элементом
+     */
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        Object[] elements = array;
+        int length = size;
+        for (int i = 0; i < length; i++) {
+            action.accept((T) elements[i]);
+        }
     }
+
     /**
      Метод возвращения размера списка, а если конкретно, то переменной size, не путать с емкостью внутреннего массива
      @return int - величина переменной size
@@ -307,25 +802,266 @@ public class MyArrayList<T> implements MyList<T>{
     }
 
     /**
-     Метод увеличения внутреннего массива при его заполнении, с ограничением на максимальную возможную емкость,
-     которую способно вместить переменная типа int
+     Метод получения элементов списка в отсортированном порядке: внутренний массив MyArrayList, уже
+     отсортированного этим компаратором, используется без копирования, иначе элементы копируются и сортируются
+     */
+    private static Object[] sortedElements(MyList<?> list, BatchSearch search, Comparator<Object> comparator) {
+        int count = list.size();
+        if (list instanceof MyArrayList) {
+            Object[] elements = ((MyArrayList<?>) list).elementData();
+            if (((MyArrayList<?>) list).sortedBy == comparator || search.isSorted(elements, count)) {
+                return elements;
+            }
+            elements = Arrays.copyOf(elements, count);
+            new MergeSortComparator(comparator, elements).mergeSort(0, count - 1);
+            return elements;
+        }
+        Object[] elements = toArray(list);
+        if (!search.isSorted(elements, count)) {
+            new MergeSortComparator(comparator, elements).mergeSort(0, count - 1);
+        }
+        return elements;
+    }
+
+    /**
+     Метод копирования элементов произвольного списка в массив обходом итератора
+     */
+    private static Object[] toArray(MyList<?> list) {
+        Object[] elements = new Object[list.size()];
+        int i = 0;
+        for (Object element : list) {
+            elements[i++] = element;
+        }
+        return elements;
+    }
+
+    /**
+     Метод пометки позиций хеш-индекса устаревшими после перестановки элементов
+     */
+    private void invalidateHashIndexPositions() {
+        if (hashIndex != null) {
+            hashIndex.invalidatePositions();
+        }
+    }
+
+    /**
+     Метод бинарного поиска первого вхождения элемента в отсортированном списке: находится первый элемент,
+     не меньший искомого, затем среди равных по компаратору ищется равный по equals
+     @param element - искомый элемент, не null
+     @return int - индекс первого вхождения или -1, если элемента нет
+     */
+    private int sortedIndexOf(T element) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedBy.compare(array[mid], element) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        for (int i = low; i < size && sortedBy.compare(array[i], element) == 0; i++) {
+            if (element.equals(array[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     Метод проверки, что элемент, встающий между соседями previous и next, не нарушает порядок отсортированного
+     списка, иначе признак сортировки сбрасывается, null элементы всегда сбрасывают признак
+     @param previous - индекс левого соседа, может быть -1
+     @param element - вставляемый элемент
+     @param next - индекс правого соседа, может быть равен size
+     */
+    private void checkSortedOrder(int previous, Object element, int next) {
+        if (sortedBy == null) {
+            return;
+        }
+        if (element == null
+                || previous >= 0 && sortedBy.compare(array[previous], element) > 0
+                || next < size && sortedBy.compare(element, array[next]) > 0) {
+            sortedBy = null;
+        }
+    }
+
+    /**
+     Метод проверки порядка соседних элементов в диапазоне после вставки нескольких элементов
+     @param from - индекс первого проверяемого элемента, может быть -1
+     @param to - индекс последнего проверяемого элемента, может быть равен size
+     */
+    private void checkSortedRange(int from, int to) {
+        if (sortedBy == null) {
+            return;
+        }
+        int end = Math.min(to, size - 1);
+        for (int i = Math.max(from, 0); i < end; i++) {
+            if (array[i + 1] == null || sortedBy.compare(array[i], array[i + 1]) > 0) {
+                sortedBy = null;
+                return;
+            }
+        }
+    }
+
+    /**
+     Метод доступа к хеш-индексу для реализаций этого пакета, построенных поверх MyArrayList
+     @return HashIndex - хеш-индекс или null, если режим индекса выключен
+     */
+    HashIndex hashIndex() {
+        return hashIndex;
+    }
+
+    /**
+     Метод, который показывает, изменит ли indexOf состояние списка, пересчитывая позиции хеш-индекса
+     @return boolean - true если позиции хеш-индекса устарели
+     */
+    boolean indexOfRefreshesIndex() {
+        return hashIndex != null && hashIndex.positionsStale();
+    }
+
+    /**
+     Метод доступа к внутреннему массиву для реализаций этого пакета, построенных поверх MyArrayList
+     @return Object[] - внутренний массив, заполнены первые size ячеек
+     */
+    Object[] elementData() {
+        return array;
+    }
+
+    /**
+     Метод вставки массива элементов в определенное место списка со сдвигом хвоста на месте
+     @param elements - массив вставляемых элементов
+     @param index - индекс списка, куда нужно добавить первый элемент массива
+     @return boolean - true если список изменился
+     */
+    private boolean insertArray(Object[] elements, int index) {
+        if (index > size || index < 0) {
+            throw new ArrayIndexOutOfBoundsException("Index Is Wrong");
+        }
+        int count = elements.length;
+        if (count == 0) {
+            return false;
+        }
+        if (count > Integer.MAX_VALUE - size) {
+            throw new IllegalStateException("List Is Full");
+        }
+        ensureCapacity(size + count);
+        if (metrics != null) {
+            metrics.shifted(size - index);
+        }
+        System.arraycopy(array, index, array, index + count, size - index);
+        System.arraycopy(elements, 0, array, index, count);
+        if (hashIndex != null) {
+            if (index != size) {
+                hashIndex.invalidatePositions();
+            }
+            for (int i = 0; i < count; i++) {
+                hashIndex.increment(elements[i], index + i);
+            }
+        }
+        size += count;
+        checkSortedRange(index - 1, index + count);
+        return true;
+    }
+
+    /**
+     Метод удаления элемента по индексу без проверки индекса, хвост списка сдвигается на месте
+     @param index - индекс элемента, который требуется удалить
+     */
+    private void fastRemove(int index) {
+        if (hashIndex != null) {
+            hashIndex.decrement(array[index], index);
+            if (index != size - 1) {
+                hashIndex.invalidatePositions();
+            }
+        }
+        if (metrics != null) {
+            metrics.shifted(size - index - 1);
+        }
+        System.arraycopy(array, index + 1, array, index, size - index - 1);
+        array[size - 1] = null;
+        size--;
+        checkTrimArrayLength();
+    }
+
+    /**
+     Метод проверки необходимости сокращения внутреннего массива по политике емкости
+     */
+    private void checkTrimArrayLength() {
+        int capacity = policy.shrink(array.length, size);
+        if (capacity < array.length) {
+            resize(Math.max(capacity, size));
+        }
+    }
+
+    /**
+     Метод увеличения внутреннего массива при его заполнении, новая емкость определяется политикой емкости
      */
     private void addArrayLength() {
+        resize(policy.grow(array.length, size + 1));
+    }
+
+    /**
+     Метод копирования внутреннего массива в массив новой емкости, при подключенных метриках копирование
+     учитывается и замеряется
+     @param capacity - новая емкость, не меньше size
+     */
+    private void resize(int capacity) {
+        if (metrics == null) {
+            array = copyOf(capacity);
+            return;
+        }
         int oldCapacity = array.length;
-        int capacity = (int)(array.length * INCREASE_MAX_CAPACITY);
+        long start = System.nanoTime();
+        array = copyOf(capacity);
+        metrics.resized(oldCapacity, array.length, size, System.nanoTime() - start);
+    }
 
-        if (oldCapacity > Integer.MAX_VALUE / INCREASE_MAX_CAPACITY) {//не совсем нужное ограничение, так как раньше
-            capacity = Integer.MAX_VALUE;                             // исключение OutOfMemory()
+    /**
+     Метод копирования элементов в массив новой емкости. С пулом расширение берет массив из пула, сокращение
+     создает массив ровно нужной длины, а прежний массив очищается и возвращается в пул
+     @param capacity - новая емкость, не меньше size
+     @return Object[] - новый внутренний массив
+     */
+    private Object[] copyOf(int capacity) {
+        if (pool == null) {
+            return Arrays.copyOf(array, capacity);
         }
-        array = Arrays.copyOf(array, capacity);
+        Object[] copy = capacity > array.length ? pool.borrow(capacity) : new Object[capacity];
+        System.arraycopy(array, 0, copy, 0, size);
+        Arrays.fill(array, 0, size, null);
+        pool.giveBack(array);
+        return copy;
     }
 
     /**
-     Метод сокращения длинны внутреннего массива в 4 раза
+     Класс MyArrayListIterator со свойством <b>index</b>, итератор списка
      */
-    private void trimArrayLength() {
-        int capacity = array.length / FREE_SPACE;
-        array = Arrays.copyOf(array, capacity);
+    private class MyArrayListIterator implements Iterator<T> {
+        private int index = 0;
+
+        /**
+         Метод итератора, позволяющий узнать, есть ли еще один элемент в данном списке
+         @return boolean - true если да, false нет
+         */
+        @Override
+        public boolean hasNext() {
+            return index < size;
+        }
+
+        /**
+         Метод итератора получения следующего элемента списка
+         @return T - следующий элемент в списке
+         @exception NoSuchElementException - возникает, если элементы закончились
+         */
+        @Override
+        public T next() {
+            if (index >= size) {
+                throw new NoSuchElementException();
+            }
+            return (T) array[index++];
+        }
     }
 
     /**
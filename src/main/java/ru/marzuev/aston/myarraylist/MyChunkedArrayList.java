@@ -0,0 +1,533 @@
+package ru.marzuev.aston.myarraylist;
+
+import ru.marzuev.aston.mergesort.MergeSortComparator;
+import ru.marzuev.aston.quicksort.QuickSortComparator;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ Класс MyChunkedArrayList со свойствами <b>chunks</b>, <b>sizes</b>, <b>tree</b> и <b>size</b>, список из блоков
+ ограниченной емкости для больших списков с вставкой и удалением в произвольных местах. Количества элементов блоков
+ хранятся также в дереве Фенвика, поэтому индекс первого элемента блока и блок по индексу элемента находятся
+ за O(log C), где C количество блоков. Вставка и удаление сдвигают элементы только внутри одного блока и обновляют
+ дерево за O(log C), дерево перестраивается за O(C) только при делении, слиянии и удалении блоков, которые
+ происходят не чаще раза на половину емкости блока операций. Заполненный блок делится пополам, а блок,
+ заполненный меньше чем на четверть, сливается с соседним
+ @author Марзуев Владимир
+ @version 1.0
+ */
+public class MyChunkedArrayList<T> implements MyList<T> {
+    /**
+     @value Емкость блока при использовании конструктора без параметров
+     */
+    private static final int DEFAULT_CHUNK_CAPACITY = 1024;
+    /**
+     @value Минимальная емкость блока
+     */
+    private static final int MIN_CHUNK_CAPACITY = 4;
+    /**
+     @value Изначальная длинна массивов блоков
+     */
+    private static final int INIT_CHUNKS = 8;
+    private final int chunkCapacity;
+    private Object[][] chunks = new Object[INIT_CHUNKS][];
+    private int[] sizes = new int[INIT_CHUNKS];
+    /**
+     Дерево Фенвика по количествам элементов блоков, ячейка i хранит сумму sizes в блоках (i - (i & -i), i - 1]
+     */
+    private int[] tree = new int[INIT_CHUNKS + 1];
+    private int chunkCount = 0;
+    private int size = 0;
+    /**
+     Индекс первого элемента блока, найденного последним вызовом chunkOf
+     */
+    private int chunkStart;
+
+    /**
+     Конструктор без параметров, емкость блока равна DEFAULT_CHUNK_CAPACITY
+     */
+    public MyChunkedArrayList() {
+        this(DEFAULT_CHUNK_CAPACITY);
+    }
+
+    /**
+     Конструктор с параметром указывающий емкость одного блока
+     @param chunkCapacity - емкость блока
+     @exception IllegalArgumentException - возникает если емкость меньше MIN_CHUNK_CAPACITY
+     */
+    public MyChunkedArrayList(int chunkCapacity) {
+        if (chunkCapacity < MIN_CHUNK_CAPACITY) {
+            throw new IllegalArgumentException("Capacity Is Wrong");
+        }
+        this.chunkCapacity = chunkCapacity;
+    }
+
+    @Override
+    public boolean add(T element) {
+        if (chunkCount == 0 || sizes[chunkCount - 1] == chunkCapacity) {
+            insertChunk(chunkCount, new Object[chunkCapacity], 0);
+        }
+        int last = chunkCount - 1;
+        chunks[last][sizes[last]++] = element;
+        update(last, 1);
+        size++;
+        return true;
+    }
+
+    /**
+     Метод добавления элемента в определенное место списка, элементы сдвигаются только внутри одного блока,
+     заполненный блок предварительно делится пополам
+     @param element - элемент, который требуется добавить
+     @param index - индекс списка, куда нужно добавить элемент
+     @exception ArrayIndexOutOfBoundsException - возникает если указан не валидный индекс
+     */
+    @Override
+    public void add(T element, int index) {
+        if (index > size || index < 0) {
+            throw new ArrayIndexOutOfBoundsException("Index Is Wrong");
+        }
+        if (index == size) {
+            add(element);
+            return;
+        }
+        int chunk = chunkOf(index);
+        int local = index - chunkStart;
+        if (sizes[chunk] == chunkCapacity) {
+            split(chunk);
+            if (local >= sizes[chunk]) {
+                local -= sizes[chunk];
+                chunk++;
+            }
+        }
+        Object[] elements = chunks[chunk];
+        System.arraycopy(elements, local, elements, local + 1, sizes[chunk] - local);
+        elements[local] = element;
+        sizes[chunk]++;
+        update(chunk, 1);
+        size++;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        if (index >= size || index < 0) {
+            throw new ArrayIndexOutOfBoundsException("Index Is Wrong");
+        }
+        int chunk = chunkOf(index);
+        return (T) chunks[chunk][index - chunkStart];
+    }
+
+    @Override
+    public boolean remove(T element) {
+        int index = indexOf(element);
+        if (index < 0) {
+            return false;
+        }
+        remove(index);
+        return true;
+    }
+
+    /**
+     Метод по удалению элемента из списка по определенному индексу, элементы сдвигаются только внутри одного блока
+     @param index - индекс элемента, который требуется удалить
+     @return T - возвращает элемент, который был удален
+     @exception ArrayIndexOutOfBoundsException - возникает если указан не валидный индекс
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T remove(int index) {
+        if (index >= size || index < 0) {
+            throw new ArrayIndexOutOfBoundsException("Index Is Wrong");
+        }
+        int chunk = chunkOf(index);
+        int local = index - chunkStart;
+        Object[] elements = chunks[chunk];
+        T element = (T) elements[local];
+        System.arraycopy(elements, local + 1, elements, local, sizes[chunk] - local - 1);
+        elements[--sizes[chunk]] = null;
+        update(chunk, -1);
+        size--;
+        rebalance(chunk);
+        return element;
+    }
+
+    /**
+     Метод удаления элементов списка в диапазоне индексов [from, to), блоки, попавшие в диапазон целиком,
+     удаляются без копирования элементов
+     @param from - индекс первого удаляемого элемента
+     @param to - индекс, следующий за последним удаляемым элементом
+     @exception ArrayIndexOutOfBoundsException - возникает если указан не валидный диапазон
+     */
+    @Override
+    public void removeRange(int from, int to) {
+        if (from < 0 || to > size || from > to) {
+            throw new ArrayIndexOutOfBoundsException("Index Is Wrong");
+        }
+        if (from == to) {
+            return;
+        }
+        int first = chunkOf(from);
+        int chunk = first;
+        int local = from - chunkStart;
+        int remaining = to - from;
+        while (remaining > 0) {
+            Object[] elements = chunks[chunk];
+            int count = Math.min(remaining, sizes[chunk] - local);
+            System.arraycopy(elements, local + count, elements, local, sizes[chunk] - local - count);
+            Arrays.fill(elements, sizes[chunk] - count, sizes[chunk], null);
+            sizes[chunk] -= count;
+            remaining -= count;
+            if (sizes[chunk] == 0) {
+                removeChunk(chunk);
+            } else {
+                chunk++;
+            }
+            local = 0;
+        }
+        size -= to - from;
+        rebuild();
+        rebalance(first + 1);
+        rebalance(first);
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(chunks, 0, chunkCount, null);
+        chunkCount = 0;
+        size = 0;
+    }
+
+    /**
+     Метод быстрой сортировки списка, элементы копируются в один массив, сортируются и записываются обратно
+     в те же блоки
+     @param comparator - компаратор по которому будет производиться сортировка объектов
+     */
+    @Override
+    public void quickSort(Comparator<Object> comparator) {
+        Object[] elements = toArray();
+        QuickSortComparator quickSort = new QuickSortComparator(comparator, elements);
+        quickSort.quickSort(0, size - 1);
+        fill(elements);
+    }
+
+    /**
+     Метод устойчивой сортировки списка слиянием, элементы копируются в один массив, сортируются и записываются
+     обратно в те же блоки
+     @param comparator - компаратор по которому будет производиться сортировка объектов
+     */
+    @Override
+    public void mergeSort(Comparator<Object> comparator) {
+        Object[] elements = toArray();
+        MergeSortComparator mergeSort = new MergeSortComparator(comparator, elements);
+        mergeSort.mergeSort(0, size - 1);
+        fill(elements);
+    }
+
+    /**
+     Метод бинарного поиска элемента списка, производится только после сортировки. Сначала бинарным поиском
+     по последним элементам блоков находится блок, затем элемент ищется внутри блока
+     @param element - искомый элемент
+     @param comparator - компаратор по которому будет производиться сравнение объектов
+     @return int - индекс элемента или -1, если элемента нет
+     */
+    @Override
+    public int binarySearch(T element, Comparator<Object> comparator) {
+        int low = 0;
+        int high = chunkCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (comparator.compare(chunks[mid][sizes[mid] - 1], element) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        if (low == chunkCount) {
+            return -1;
+        }
+        Object[] elements = chunks[low];
+        int from = 0;
+        int to = sizes[low] - 1;
+        while (from <= to) {
+            int mid = (from + to) >>> 1;
+            int compare = comparator.compare(elements[mid], element);
+            if (compare == 0) {
+                return offsetOf(low) + mid;
+            } else if (compare < 0) {
+                from = mid + 1;
+            } else {
+                to = mid - 1;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T set(int index, T element) {
+        if (index >= size || index < 0) {
+            throw new ArrayIndexOutOfBoundsException("Index Is Wrong");
+        }
+        int chunk = chunkOf(index);
+        int local = index - chunkStart;
+        T old = (T) chunks[chunk][local];
+        chunks[chunk][local] = element;
+        return old;
+    }
+
+    @Override
+    public boolean contains(T element) {
+        return indexOf(element) >= 0;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int indexOf(T element) {
+        int offset = 0;
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            Object[] elements = chunks[chunk];
+            for (int i = 0; i < sizes[chunk]; i++) {
+                if (element == null ? elements[i] == null : element.equals(elements[i])) {
+                    return offset + i;
+                }
+            }
+            offset += sizes[chunk];
+        }
+        return -1;
+    }
+
+    /**
+     Метод вызова итератора, который проходит блоки последовательно без поиска блока на каждом шаге
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private int chunk = 0;
+            private int local = 0;
+
+            @Override
+            public boolean hasNext() {
+                return chunk < chunkCount && local < sizes[chunk];
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                T element = (T) chunks[chunk][local++];
+                if (local == sizes[chunk]) {
+                    chunk++;
+                    local = 0;
+                }
+                return element;
+            }
+        };
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(iterator(), size, Spliterator.ORDERED);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super T> action) {
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            Object[] elements = chunks[chunk];
+            for (int i = 0; i < sizes[chunk]; i++) {
+                action.accept((T) elements[i]);
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     Метод возвращения количества блоков, используется для проверки перебалансировки
+     @return int - количество блоков
+     */
+    public int chunkCount() {
+        return chunkCount;
+    }
+
+    /**
+     Метод поиска блока, содержащего элемент с индексом index, спуском по дереву Фенвика за O(log C),
+     индекс первого элемента найденного блока сохраняется в chunkStart
+     @param index - индекс элемента, меньше size, или size для вставки в конец последнего блока
+     @return int - номер блока
+     */
+    private int chunkOf(int index) {
+        int position = 0;
+        int remaining = index;
+        for (int step = Integer.highestOneBit(chunkCount); step > 0; step >>>= 1) {
+            int next = position + step;
+            if (next <= chunkCount && tree[next] <= remaining) {
+                position = next;
+                remaining -= tree[next];
+            }
+        }
+        if (position == chunkCount) {
+            position--;
+            remaining += sizes[position];
+        }
+        chunkStart = index - remaining;
+        return position;
+    }
+
+    /**
+     Метод вычисления индекса первого элемента блока суммой по дереву Фенвика
+     @param chunk - номер блока
+     @return int - количество элементов во всех блоках перед chunk
+     */
+    private int offsetOf(int chunk) {
+        int sum = 0;
+        for (int i = chunk; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    /**
+     Метод изменения количества элементов блока в дереве Фенвика
+     @param chunk - номер блока
+     @param delta - изменение количества элементов
+     */
+    private void update(int chunk, int delta) {
+        for (int i = chunk + 1; i <= chunkCount; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     Метод построения дерева Фенвика по sizes за O(C) после изменения состава блоков
+     */
+    private void rebuild() {
+        for (int i = 1; i <= chunkCount; i++) {
+            tree[i] = sizes[i - 1];
+        }
+        for (int i = 1; i <= chunkCount; i++) {
+            int parent = i + (i & -i);
+            if (parent <= chunkCount) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+
+    /**
+     Метод деления заполненного блока пополам, верхняя половина переносится в новый блок после него
+     @param chunk - номер блока
+     */
+    private void split(int chunk) {
+        Object[] elements = chunks[chunk];
+        int half = sizes[chunk] >>> 1;
+        int moved = sizes[chunk] - half;
+        Object[] newChunk = new Object[chunkCapacity];
+        System.arraycopy(elements, half, newChunk, 0, moved);
+        Arrays.fill(elements, half, sizes[chunk], null);
+        sizes[chunk] = half;
+        update(chunk, -moved);
+        insertChunk(chunk + 1, newChunk, moved);
+    }
+
+    /**
+     Метод перебалансировки блока после удаления: пустой блок удаляется, а блок, заполненный меньше
+     чем на четверть, сливается с соседним, если вместе они занимают не больше половины емкости
+     @param chunk - номер блока, может быть вне диапазона
+     */
+    private void rebalance(int chunk) {
+        if (chunk >= chunkCount) {
+            return;
+        }
+        if (sizes[chunk] == 0) {
+            removeChunk(chunk);
+        } else if (sizes[chunk] < chunkCapacity / 4) {
+            int limit = chunkCapacity / 2;
+            if (chunk + 1 < chunkCount && sizes[chunk] + sizes[chunk + 1] <= limit) {
+                merge(chunk);
+            } else if (chunk > 0 && sizes[chunk - 1] + sizes[chunk] <= limit) {
+                merge(chunk - 1);
+            }
+        }
+    }
+
+    /**
+     Метод слияния блока со следующим за ним, элементы следующего блока дописываются в конец блока
+     @param chunk - номер левого блока
+     */
+    private void merge(int chunk) {
+        System.arraycopy(chunks[chunk + 1], 0, chunks[chunk], sizes[chunk], sizes[chunk + 1]);
+        sizes[chunk] += sizes[chunk + 1];
+        removeChunk(chunk + 1);
+    }
+
+    private void insertChunk(int position, Object[] chunk, int chunkSize) {
+        if (chunkCount == chunks.length) {
+            int length = chunks.length * 2;
+            chunks = Arrays.copyOf(chunks, length);
+            sizes = Arrays.copyOf(sizes, length);
+            tree = Arrays.copyOf(tree, length + 1);
+        }
+        int moved = chunkCount - position;
+        System.arraycopy(chunks, position, chunks, position + 1, moved);
+        System.arraycopy(sizes, position, sizes, position + 1, moved);
+        chunks[position] = chunk;
+        sizes[position] = chunkSize;
+        chunkCount++;
+        if (position == chunkCount - 1) {
+            int node = chunkCount;
+            tree[node] = chunkSize + offsetOf(node - 1) - offsetOf(node - (node & -node));
+        } else {
+            rebuild();
+        }
+    }
+
+    private void removeChunk(int position) {
+        int moved = chunkCount - position - 1;
+        System.arraycopy(chunks, position + 1, chunks, position, moved);
+        System.arraycopy(sizes, position + 1, sizes, position, moved);
+        chunks[--chunkCount] = null;
+        rebuild();
+    }
+
+    private Object[] toArray() {
+        Object[] elements = new Object[size];
+        int offset = 0;
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            System.arraycopy(chunks[chunk], 0, elements, offset, sizes[chunk]);
+            offset += sizes[chunk];
+        }
+        return elements;
+    }
+
+    /**
+     Метод записи элементов массива обратно в блоки, количество элементов в блоках не меняется
+     @param elements - массив длинной size
+     */
+    private void fill(Object[] elements) {
+        int offset = 0;
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            System.arraycopy(elements, offset, chunks[chunk], 0, sizes[chunk]);
+            offset += sizes[chunk];
+        }
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
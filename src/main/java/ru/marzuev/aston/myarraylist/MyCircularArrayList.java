@@ -0,0 +1,412 @@
+package ru.marzuev.aston.myarraylist;
+
+import ru.marzuev.aston.mergesort.MergeSortComparator;
+import ru.marzuev.aston.quicksort.QuickSortComparator;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ Класс MyCircularArrayList со свойствами <b>array</b>, <b>head</b> и <b>size</b>, список на кольцевом буфере.
+ Элементы занимают ячейки массива начиная с head по модулю длинны, длинна массива всегда степень двойки,
+ поэтому индекс вычисляется маской. Вставка и удаление в начале и в конце списка выполняются за O(1),
+ а в середине сдвигается более короткая из двух частей списка
+ @author Марзуев Владимир
+ @version 1.0
+ */
+public class MyCircularArrayList<T> implements MyList<T> {
+    /**
+     @value Емкость массива который создается изначально при использовании конструктора без параметров
+     */
+    private static final int INIT_CAPACITY = 16;
+    /**
+     @value Максимальная емкость массива, наибольшая степень двойки типа int
+     */
+    private static final int MAX_CAPACITY = 1 << 30;
+    private Object[] array;
+    private int head = 0;
+    private int size = 0;
+
+    /**
+     Конструктор без параметров изначальная емкость внутреннего массива равна INIT_CAPACITY
+     */
+    public MyCircularArrayList() {
+        array = new Object[INIT_CAPACITY];
+    }
+
+    /**
+     Конструктор с параметром указывающий изначальную емкость, округляется вверх до степени двойки
+     @param capacity - емкость массива
+     @exception IllegalArgumentException - возникает если емкость отрицательна или больше MAX_CAPACITY
+     */
+    public MyCircularArrayList(int capacity) {
+        if (capacity < 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Capacity Is Wrong");
+        }
+        array = new Object[Math.max(2, Integer.highestOneBit(Math.max(capacity, 1) * 2 - 1))];
+    }
+
+    /**
+     Метод добавления элемента в конец списка за O(1)
+     @param element - элемент, который требуется добавить
+     @exception IllegalStateException - возникает, когда емкость достигла MAX_CAPACITY
+     */
+    @Override
+    public boolean add(T element) {
+        if (size == array.length) {
+            addArrayLength();
+        }
+        array[(head + size) & (array.length - 1)] = element;
+        size++;
+        return true;
+    }
+
+    /**
+     Метод добавления элемента в определенное место списка, в начало и в конец за O(1), в середину со сдвигом
+     более короткой части списка
+     @param element - элемент, который требуется добавить
+     @param index - индекс списка, куда нужно добавить элемент
+     @exception ArrayIndexOutOfBoundsException - возникает если указан не валидный индекс
+     */
+    @Override
+    public void add(T element, int index) {
+        if (index > size || index < 0) {
+            throw new ArrayIndexOutOfBoundsException("Index Is Wrong");
+        }
+        if (size == array.length) {
+            addArrayLength();
+        }
+        if (index < size - index) {
+            moveRange(0, -1, index);
+            head = (head - 1) & (array.length - 1);
+        } else {
+            moveRange(index, index + 1, size - index);
+        }
+        array[(head + index) & (array.length - 1)] = element;
+        size++;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        if (index >= size || index < 0) {
+            throw new ArrayIndexOutOfBoundsException("Index Is Wrong");
+        }
+        return (T) array[(head + index) & (array.length - 1)];
+    }
+
+    @Override
+    public boolean remove(T element) {
+        int index = indexOf(element);
+        if (index < 0) {
+            return false;
+        }
+        remove(index);
+        return true;
+    }
+
+    /**
+     Метод по удалению элемента из списка по определенному индексу, из начала и конца за O(1), из середины
+     со сдвигом более короткой части списка
+     @param index - индекс элемента, который требуется удалить
+     @return T - возвращает элемент, который был удален
+     @exception ArrayIndexOutOfBoundsException - возникает если указан не валидный индекс
+     */
+    @Override
+    public T remove(int index) {
+        T element = get(index);
+        removeRange(index, index + 1);
+        return element;
+    }
+
+    /**
+     Метод удаления элементов списка в диапазоне индексов [from, to), сдвигается более короткая из частей
+     списка слева и справа от диапазона
+     @param from - индекс первого удаляемого элемента
+     @param to - индекс, следующий за последним удаляемым элементом
+     @exception ArrayIndexOutOfBoundsException - возникает если указан не валидный диапазон
+     */
+    @Override
+    public void removeRange(int from, int to) {
+        if (from < 0 || to > size || from > to) {
+            throw new ArrayIndexOutOfBoundsException("Index Is Wrong");
+        }
+        int count = to - from;
+        if (count == 0) {
+            return;
+        }
+        if (from < size - to) {
+            moveRange(0, count, from);
+            clearRange(0, count);
+            head = (head + count) & (array.length - 1);
+        } else {
+            moveRange(to, from, size - to);
+            clearRange(size - count, count);
+        }
+        size -= count;
+    }
+
+    @Override
+    public void clear() {
+        clearRange(0, size);
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     Метод быстрой сортировки списка, элементы сначала переносятся в начало массива одним куском
+     @param comparator - компаратор по которому будет производиться сортировка объектов
+     */
+    @Override
+    public void quickSort(Comparator<Object> comparator) {
+        normalize();
+        QuickSortComparator quickSort = new QuickSortComparator(comparator, array);
+        quickSort.quickSort(0, size - 1);
+    }
+
+    /**
+     Метод устойчивой сортировки списка слиянием, элементы сначала переносятся в начало массива одним куском
+     @param comparator - компаратор по которому будет производиться сортировка объектов
+     */
+    @Override
+    public void mergeSort(Comparator<Object> comparator) {
+        normalize();
+        MergeSortComparator mergeSort = new MergeSortComparator(comparator, array);
+        mergeSort.mergeSort(0, size - 1);
+    }
+
+    @Override
+    public int binarySearch(T element, Comparator<Object> comparator) {
+        int mask = array.length - 1;
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int compare = comparator.compare(array[(head + mid) & mask], element);
+            if (compare == 0) {
+                return mid;
+            } else if (compare < 0) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public T set(int index, T element) {
+        T old = get(index);
+        array[(head + index) & (array.length - 1)] = element;
+        return old;
+    }
+
+    @Override
+    public boolean contains(T element) {
+        return indexOf(element) >= 0;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int indexOf(T element) {
+        int mask = array.length - 1;
+        for (int i = 0; i < size; i++) {
+            Object current = array[(head + i) & mask];
+            if (element == null ? current == null : element.equals(current)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public T next() {
+                if (index >= size) {
+                    throw new NoSuchElementException();
+                }
+                return get(index++);
+            }
+        };
+    }
+
+    /**
+     Метод возвращения разделителя, массив и head не изменяются: если элементы лежат одним куском, диапазон
+     делится как у MyArrayList, иначе разделитель обходит кольцо по маске
+     @return Spliterator - разделитель с характеристиками ORDERED, SIZED и SUBSIZED
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        if (head + size <= array.length) {
+            return new ArraySpliterator<>(array, head, head + size);
+        }
+        return new RingSpliterator<>(array, head, 0, size);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super T> action) {
+        int mask = array.length - 1;
+        for (int i = 0; i < size; i++) {
+            action.accept((T) array[(head + i) & mask]);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     Метод удвоения внутреннего массива, элементы переносятся в начало нового массива
+     */
+    private void addArrayLength() {
+        if (array.length >= MAX_CAPACITY) {
+            throw new IllegalStateException("List Is Full");
+        }
+        array = copyInOrder(array.length * 2);
+        head = 0;
+    }
+
+    /**
+     Метод переноса элементов в начало массива одним непрерывным куском, нужен для сортировки
+     */
+    private void normalize() {
+        if (head + size > array.length || head != 0) {
+            array = copyInOrder(array.length);
+            head = 0;
+        }
+    }
+
+    /**
+     Метод сдвига count элементов с позиции списка from на позицию to не более чем тремя вызовами
+     System.arraycopy по непрерывным кускам массива. При сдвиге влево куски копируются от начала, при сдвиге
+     вправо от конца, поэтому перекрывающиеся диапазоны не портятся
+     @param from - позиция списка первого сдвигаемого элемента
+     @param to - позиция списка, куда встает первый элемент, может быть -1
+     @param count - количество сдвигаемых элементов
+     */
+    private void moveRange(int from, int to, int count) {
+        int mask = array.length - 1;
+        if (to < from) {
+            int done = 0;
+            while (done < count) {
+                int source = (head + from + done) & mask;
+                int target = (head + to + done) & mask;
+                int chunk = Math.min(count - done, array.length - Math.max(source, target));
+                System.arraycopy(array, source, array, target, chunk);
+                done += chunk;
+            }
+        } else {
+            int remaining = count;
+            while (remaining > 0) {
+                int sourceEnd = ((head + from + remaining - 1) & mask) + 1;
+                int targetEnd = ((head + to + remaining - 1) & mask) + 1;
+                int chunk = Math.min(remaining, Math.min(sourceEnd, targetEnd));
+                System.arraycopy(array, sourceEnd - chunk, array, targetEnd - chunk, chunk);
+                remaining -= chunk;
+            }
+        }
+    }
+
+    /**
+     Метод обнуления count ячеек начиная с позиции списка from, не более двух вызовов Arrays.fill
+     */
+    private void clearRange(int from, int count) {
+        int start = (head + from) & (array.length - 1);
+        int firstPart = Math.min(count, array.length - start);
+        Arrays.fill(array, start, start + firstPart, null);
+        Arrays.fill(array, 0, count - firstPart, null);
+    }
+
+    private Object[] copyInOrder(int capacity) {
+        Object[] newArray = new Object[capacity];
+        int firstPart = Math.min(size, array.length - head);
+        System.arraycopy(array, head, newArray, 0, firstPart);
+        System.arraycopy(array, 0, newArray, firstPart, size - firstPart);
+        return newArray;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(copyInOrder(size));
+    }
+
+    /**
+     Класс RingSpliterator со свойствами <b>array</b>, <b>index</b> и <b>fence</b>, разделитель кольцевого буфера,
+     index и fence это позиции списка, ячейка массива вычисляется маской от head
+     */
+    private static final class RingSpliterator<T> implements Spliterator<T> {
+        private final Object[] array;
+        private final int head;
+        private int index;
+        private final int fence;
+
+        private RingSpliterator(Object[] array, int head, int index, int fence) {
+            this.array = array;
+            this.head = head;
+            this.index = index;
+            this.fence = fence;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (index < fence) {
+                action.accept((T) array[(head + index++) & (array.length - 1)]);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void forEachRemaining(Consumer<? super T> action) {
+            Object[] elements = array;
+            int mask = elements.length - 1;
+            int end = fence;
+            for (int i = index; i < end; i++) {
+                action.accept((T) elements[(head + i) & mask]);
+            }
+            index = end;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            int low = index;
+            int middle = (low + fence) >>> 1;
+            if (low >= middle) {
+                return null;
+            }
+            index = middle;
+            return new RingSpliterator<>(array, head, low, middle);
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package ru.marzuev.aston.myarraylist;
+
+import java.util.Arrays;
+
+/**
+ Класс MyDoubleArrayList со свойствами <b>array</b> и <b>size</b>, специализация MyArrayList для примитивов типа double,
+ значения хранятся во внутреннем массиве double[] без упаковки в объекты Double
+ @author Марзуев Владимир
+ @version 1.0
+ */
+public class MyDoubleArrayList {
+    /**
+     @value Емкость массива который создается изначально при использовании конструктора без параметров
+     */
+    private static final int INIT_CAPACITY = 10;
+    /**
+     @value Множитель указыающий во сколько раз увеличится длинна внутреннего массива при расширении
+     */
+    private static final double INCREASE_MAX_CAPACITY = 1.5;
+    private double[] array;
+    private int size = 0;
+
+    /**
+     Конструктор без параметров изначальная емкость внутреннего массива равна INIT_CAPACITY
+     */
+    public MyDoubleArrayList() {
+        array = new double[INIT_CAPACITY];
+    }
+
+    /**
+     Конструктор с параметром указывающий изначальную емкость внутреннего массива
+     @param capacity - емкость массива
+     */
+    public MyDoubleArrayList(int capacity) {
+        array = new double[capacity];
+    }
+
+    /**
+     Метод добавления элемента в конец списка, при заполнении внутреннего массива происходит расширение
+     @param element - элемент, который требуется добавить
+     @exception IllegalStateException - возникает, когда size равно максимально возможному значению
+     для типа данных int до вставки элемента
+     */
+    public boolean add(double element) {
+        if (size == Integer.MAX_VALUE) {
+            throw new IllegalStateException("List Is Full");
+        }
+        if (size >= array.length) {
+            addArrayLength();
+        }
+        array[size] = element;
+        size++;
+        return true;
+    }
+
+    /**
+     Метод добавления элемента в определенное место списка, элементы правее индекса сдвигаются на месте
+     @param element - элемент, который требуется добавить
+     @param index - индекс списка, куда нужно добавить элемент
+     @exception ArrayIndexOutOfBoundsException - возникает если указан не валидный индекс
+     @exception IllegalStateException - возникает, когда size равно максимально возможному значению
+     для типа данных int, до вставки элемента
+     */
+    public void add(double element, int index) {
+        if (index > size || index < 0) {
+            throw new ArrayIndexOutOfBoundsException("Index Is Wrong");
+        }
+        if (size == Integer.MAX_VALUE) {
+            throw new IllegalStateException("List Is Full");
+        }
+        if (size >= array.length) {
+            addArrayLength();
+        }
+        System.arraycopy(array, index, array, index + 1, size - index);
+        array[index] = element;
+        size++;
+    }
+
+    /**
+     Метод по возвращению элемента списка по определенному индексу
+     @param index - индекс списка, по которому возвращается элемент
+     @return double - возвращаемый элемент списка
+     @exception ArrayIndexOutOfBoundsException - возникает если указан не валидный индекс
+     */
+    public double get(int index) {
+        if (index >= size || index < 0) {
+            throw new ArrayIndexOutOfBoundsException("Index Is Wrong");
+        }
+        return array[index];
+    }
+
+    /**
+     Метод изменения элемента списка по определенному индексу
+     @param index - индекс элемента, который будет заменен
+     @param element - элемент на который будет заменен текущий
+     @return double - элемент, который был заменен
+     @exception ArrayIndexOutOfBoundsException - возникает, если индекс не валиден
+     */
+    public double set(int index, double element) {
+        if (index >= size || index < 0) {
+            throw new ArrayIndexOutOfBoundsException("Index Is Wrong");
+        }
+        double old = array[index];
+        array[index] = element;
+        return old;
+    }
+
+    /**
+     Метод по удалению элемента из списка по определенному индексу
+     @param index - индекс элемента, который требуется удалить
+     @return double - возвращает элемент, который был удален
+     @exception ArrayIndexOutOfBoundsException - возникает если указан не валидный индекс
+     */
+    public double remove(int index) {
+        if (index >= size || index < 0) {
+            throw new ArrayIndexOutOfBoundsException("Index Is Wrong");
+        }
+        double element = array[index];
+        System.arraycopy(array, index + 1, array, index, size - index - 1);
+        size--;
+        return element;
+    }
+
+    /**
+     Метод показывающий индекс первого вхождения элемента в списке, сравнение производится как в Double.equals,
+     поэтому находится и значение NaN
+     @return int - если больше или равно 0, то это и есть индекс, а если равен -1, то элемента в списке
+     не существует
+     */
+    public int indexOf(double element) {
+        long bits = Double.doubleToLongBits(element);
+        for (int i = 0; i < size; i++) {
+            if (Double.doubleToLongBits(array[i]) == bits) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     Метод, который показывает, содержит ли список определенный элемент
+     @param element - элемент, который надо искать
+     @return boolean - true если коллекция содержит элемент, false если нет
+     */
+    public boolean contains(double element) {
+        return indexOf(element) >= 0;
+    }
+
+    /**
+     Метод сортировки списка в естественном порядке, сортировка производится на месте без упаковки элементов,
+     порядок соответствует Double.compare: -0.0 раньше 0.0, NaN в конце списка
+     */
+    public void quickSort() {
+        Arrays.sort(array, 0, size);
+    }
+
+    /**
+     Метод бинарного поиска элемента списка, производится только после сортировки, сравнение через Double.compare
+     @param element - искомый элемент
+     @return int - индекс списка, где находится элемент, если -1, то элемента нет
+     */
+    public int binarySearch(double element) {
+        int low = 0;
+        int high = size - 1;
+
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int compare = Double.compare(array[mid], element);
+            if (compare < 0) {
+                low = mid + 1;
+            } else if (compare > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     Метод очищения коллекции, емкость внутреннего массива сохраняется
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     Метод, который показывает пуста коллекция или нет
+     @return boolean - true если пуста, false если нет
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     Метод возвращения размера списка, не путать с емкостью внутреннего массива
+     @return int - величина переменной size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     Метод возвращающий копию элементов списка в виде массива
+     @return double[] - массив длинной size
+     */
+    public double[] toArray() {
+        return Arrays.copyOf(array, size);
+    }
+
+    /**
+     Метод увеличения внутреннего массива при его заполнении, с ограничением на максимальную возможную емкость,
+     которую способно вместить переменная типа int
+     */
+    private void addArrayLength() {
+        int oldCapacity = array.length;
+        int capacity = Math.max((int) (oldCapacity * INCREASE_MAX_CAPACITY), oldCapacity + 1);
+
+        if (oldCapacity > Integer.MAX_VALUE / INCREASE_MAX_CAPACITY) {
+            capacity = Integer.MAX_VALUE;
+        }
+        array = Arrays.copyOf(array, capacity);
+    }
+
+    /**
+     Метод стандартный выводящий массив в строковом виде
+     */
+    @Override
+    public String toString() {
+        return Arrays.toString(Arrays.copyOf(array, size));
+    }
+}
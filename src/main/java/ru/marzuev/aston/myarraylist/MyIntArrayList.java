@@ -0,0 +1,229 @@
+package ru.marzuev.aston.myarraylist;
+
+import java.util.Arrays;
+
+/**
+ Класс MyIntArrayList со свойствами <b>array</b> и <b>size</b>, специализация MyArrayList для примитивов типа int,
+ значения хранятся во внутреннем массиве int[] без упаковки в объекты Integer
+ @author Марзуев Владимир
+ @version 1.0
+ */
+public class MyIntArrayList {
+    /**
+     @value Емкость массива который создается изначально при использовании конструктора без параметров
+     */
+    private static final int INIT_CAPACITY = 10;
+    /**
+     @value Множитель указыающий во сколько раз увеличится длинна внутреннего массива при расширении
+     */
+    private static final double INCREASE_MAX_CAPACITY = 1.5;
+    private int[] array;
+    private int size = 0;
+
+    /**
+     Конструктор без параметров изначальная емкость внутреннего массива равна INIT_CAPACITY
+     */
+    public MyIntArrayList() {
+        array = new int[INIT_CAPACITY];
+    }
+
+    /**
+     Конструктор с параметром указывающий изначальную емкость внутреннего массива
+     @param capacity - емкость массива
+     */
+    public MyIntArrayList(int capacity) {
+        array = new int[capacity];
+    }
+
+    /**
+     Метод добавления элемента в конец списка, при заполнении внутреннего массива происходит расширение
+     @param element - элемент, который требуется добавить
+     @exception IllegalStateException - возникает, когда size равно максимально возможному значению
+     для типа данных int до вставки элемента
+     */
+    public boolean add(int element) {
+        if (size == Integer.MAX_VALUE) {
+            throw new IllegalStateException("List Is Full");
+        }
+        if (size >= array.length) {
+            addArrayLength();
+        }
+        array[size] = element;
+        size++;
+        return true;
+    }
+
+    /**
+     Метод добавления элемента в определенное место списка, элементы правее индекса сдвигаются на месте
+     @param element - элемент, который требуется добавить
+     @param index - индекс списка, куда нужно добавить элемент
+     @exception ArrayIndexOutOfBoundsException - возникает если указан не валидный индекс
+     @exception IllegalStateException - возникает, когда size равно максимально возможному значению
+     для типа данных int, до вставки элемента
+     */
+    public void add(int element, int index) {
+        if (index > size || index < 0) {
+            throw new ArrayIndexOutOfBoundsException("Index Is Wrong");
+        }
+        if (size == Integer.MAX_VALUE) {
+            throw new IllegalStateException("List Is Full");
+        }
+        if (size >= array.length) {
+            addArrayLength();
+        }
+        System.arraycopy(array, index, array, index + 1, size - index);
+        array[index] = element;
+        size++;
+    }
+
+    /**
+     Метод по возвращению элемента списка по определенному индексу
+     @param index - индекс списка, по которому возвращается элемент
+     @return int - возвращаемый элемент списка
+     @exception ArrayIndexOutOfBoundsException - возникает если указан не валидный индекс
+     */
+    public int get(int index) {
+        if (index >= size || index < 0) {
+            throw new ArrayIndexOutOfBoundsException("Index Is Wrong");
+        }
+        return array[index];
+    }
+
+    /**
+     Метод изменения элемента списка по определенному индексу
+     @param index - индекс элемента, который будет заменен
+     @param element - элемент на который будет заменен текущий
+     @return int - элемент, который был заменен
+     @exception ArrayIndexOutOfBoundsException - возникает, если индекс не валиден
+     */
+    public int set(int index, int element) {
+        if (index >= size || index < 0) {
+            throw new ArrayIndexOutOfBoundsException("Index Is Wrong");
+        }
+        int old = array[index];
+        array[index] = element;
+        return old;
+    }
+
+    /**
+     Метод по удалению элемента из списка по определенному индексу
+     @param index - индекс элемента, который требуется удалить
+     @return int - возвращает элемент, который был удален
+     @exception ArrayIndexOutOfBoundsException - возникает если указан не валидный индекс
+     */
+    public int remove(int index) {
+        if (index >= size || index < 0) {
+            throw new ArrayIndexOutOfBoundsException("Index Is Wrong");
+        }
+        int element = array[index];
+        System.arraycopy(array, index + 1, array, index, size - index - 1);
+        size--;
+        return element;
+    }
+
+    /**
+     Метод показывающий индекс первого вхождения элемента в списке
+     @return int - если больше или равно 0, то это и есть индекс, а если равен -1, то элемента в списке
+     не существует
+     */
+    public int indexOf(int element) {
+        for (int i = 0; i < size; i++) {
+            if (array[i] == element) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     Метод, который показывает, содержит ли список определенный элемент
+     @param element - элемент, который надо искать
+     @return boolean - true если коллекция содержит элемент, false если нет
+     */
+    public boolean contains(int element) {
+        return indexOf(element) >= 0;
+    }
+
+    /**
+     Метод сортировки списка в естественном порядке, сортировка производится на месте без упаковки элементов
+     */
+    public void quickSort() {
+        Arrays.sort(array, 0, size);
+    }
+
+    /**
+     Метод бинарного поиска элемента списка, производится только после сортировки
+     @param element - искомый элемент
+     @return int - индекс списка, где находится элемент, если -1, то элемента нет
+     */
+    public int binarySearch(int element) {
+        int low = 0;
+        int high = size - 1;
+
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int value = array[mid];
+            if (value < element) {
+                low = mid + 1;
+            } else if (value > element) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     Метод очищения коллекции, емкость внутреннего массива сохраняется
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     Метод, который показывает пуста коллекция или нет
+     @return boolean - true если пуста, false если нет
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     Метод возвращения размера списка, не путать с емкостью внутреннего массива
+     @return int - величина переменной size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     Метод возвращающий копию элементов списка в виде массива
+     @return int[] - массив длинной size
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(array, size);
+    }
+
+    /**
+     Метод увеличения внутреннего массива при его заполнении, с ограничением на максимальную возможную емкость,
+     которую способно вместить переменная типа int
+     */
+    private void addArrayLength() {
+        int oldCapacity = array.length;
+        int capacity = Math.max((int) (oldCapacity * INCREASE_MAX_CAPACITY), oldCapacity + 1);
+
+        if (oldCapacity > Integer.MAX_VALUE / INCREASE_MAX_CAPACITY) {
+            capacity = Integer.MAX_VALUE;
+        }
+        array = Arrays.copyOf(array, capacity);
+    }
+
+    /**
+     Метод стандартный выводящий массив в строковом виде
+     */
+    @Override
+    public String toString() {
+        return Arrays.toString(Arrays.copyOf(array, size));
+    }
+}
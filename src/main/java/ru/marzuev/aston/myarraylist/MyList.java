@@ -1,31 +1,130 @@
 package ru.marzuev.aston.myarraylist;
 
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.Iterator;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  Интерфейс MyList, собственная частичная реализация аналога интерфейса List
  @author Марзуев Владимир
  @version 1.0
  */
-public interface MyList<T> {
+public interface MyList<T> extends Iterable<T> {
 
     boolean add(T element);
 
     void add(T element, int index);
 
+    /**
+     Метод добавления всех элементов коллекции в определенное место списка, реализация по умолчанию
+     вставляет элементы по одному, реализации на массиве сдвигают хвост один раз
+     @param elements - коллекция элементов, которые требуется добавить
+     @param index - индекс списка, куда нужно добавить первый элемент коллекции
+     @return boolean - true если список изменился
+     */
+    default boolean addAll(Collection<? extends T> elements, int index) {
+        if (index > size() || index < 0) {
+            throw new ArrayIndexOutOfBoundsException("Index Is Wrong");
+        }
+        int position = index;
+        for (T element : elements) {
+            add(element, position++);
+        }
+        return position != index;
+    }
+
+    /**
+     Метод добавления всех элементов массива в определенное место списка
+     @param elements - массив элементов, которые требуется добавить
+     @param index - индекс списка, куда нужно добавить первый элемент массива
+     @return boolean - true если список изменился
+     */
+    default boolean addAll(T[] elements, int index) {
+        return addAll(Arrays.asList(elements), index);
+    }
+
     T get(int index);
 
     boolean remove(T element);
 
     T remove(int index);
 
+    /**
+     Метод удаления элементов списка в диапазоне индексов [from, to)
+     @param from - индекс первого удаляемого элемента
+     @param to - индекс, следующий за последним удаляемым элементом
+     */
+    default void removeRange(int from, int to) {
+        if (from < 0 || to > size() || from > to) {
+            throw new ArrayIndexOutOfBoundsException("Index Is Wrong");
+        }
+        for (int i = from; i < to; i++) {
+            remove(from);
+        }
+    }
+
+    /**
+     Метод удаления всех элементов, удовлетворяющих условию. Сначала условие вычисляется для всех элементов,
+     затем оставшиеся элементы уплотняются к началу списка за один проход, после чего хвост удаляется через
+     removeRange, поэтому исключение из условия оставляет список без изменений
+     @param filter - условие, при выполнении которого элемент удаляется
+     @return boolean - true если был удален хотя бы один элемент
+     */
+    default boolean removeIf(Predicate<? super T> filter) {
+        int size = size();
+        BitSet removed = new BitSet(size);
+        for (int i = 0; i < size; i++) {
+            if (filter.test(get(i))) {
+                removed.set(i);
+            }
+        }
+        if (removed.isEmpty()) {
+            return false;
+        }
+        int write = removed.nextSetBit(0);
+        for (int read = write; read < size; read++) {
+            if (!removed.get(read)) {
+                set(write++, get(read));
+            }
+        }
+        removeRange(write, size);
+        return true;
+    }
+
+    /**
+     Метод, оставляющий в списке только элементы, содержащиеся в переданной коллекции
+     @param elements - коллекция элементов, которые требуется оставить
+     @return boolean - true если был удален хотя бы один элемент
+     */
+    default boolean retainAll(Collection<?> elements) {
+        return removeIf(element -> !elements.contains(element));
+    }
+
     void clear();
 
     void quickSort(Comparator<Object> comparator);
 
+    void mergeSort(Comparator<Object> comparator);
+
     int binarySearch(T element, Comparator<Object> comparator);
 
+    /**
+     Метод потокового выбора k наименьших элементов ограниченной кучей за O(n log k), список не изменяется
+     @param k - количество выбираемых элементов
+     @param comparator - компаратор по которому сравниваются элементы
+     @return MyList - новый список из min(k, size) наименьших элементов в порядке возрастания
+     */
+    default MyList<T> topK(int k, Comparator<Object> comparator) {
+        BoundedHeap<T> heap = new BoundedHeap<>(Math.min(k, size()), comparator);
+        forEach(heap::offer);
+        return heap.toSortedList();
+    }
+
     T set(int index, T element);
 
     boolean contains(T element);
@@ -36,5 +135,22 @@ public interface MyList<T> {
 
     Iterator<T> iterator();
 
+    /**
+     Метод получения последовательного потока элементов списка
+     @return Stream - поток, построенный по spliterator списка
+     */
+    default Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     Метод получения параллельного потока элементов списка, эффективен, если spliterator списка
+     делится на равные части
+     @return Stream - параллельный поток, построенный по spliterator списка
+     */
+    default Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
     int size();
 }
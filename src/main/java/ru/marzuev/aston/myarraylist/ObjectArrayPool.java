@@ -0,0 +1,160 @@
+package ru.marzuev.aston.myarraylist;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ Класс ObjectArrayPool со свойствами <b>slots</b>, <b>stripes</b> и <b>maxArrayLength</b>, пул внутренних массивов
+ для списков, которые часто создаются, заполняются и выбрасываются. Массивы хранятся по классам размеров, равным
+ степеням двойки от MIN_ARRAY_LENGTH до maxArrayLength, каждый класс разбит на полосы по slotsPerStripe ячеек,
+ полоса выбирается по номеру потока, поэтому потоки почти не соревнуются за одни ячейки. Ячейки занимаются
+ и освобождаются через compareAndSet без блокировок. Если ячейки полосы заняты, возвращаемый массив отдается
+ сборщику мусора, поэтому пул удерживает не больше классов * полос * slotsPerStripe массивов
+ @author Марзуев Владимир
+ @version 1.0
+ */
+public class ObjectArrayPool {
+    /**
+     @value Длина массивов наименьшего класса размеров
+     */
+    public static final int MIN_ARRAY_LENGTH = 16;
+    /**
+     @value Длина массивов наибольшего класса размеров при использовании конструктора без параметров
+     */
+    private static final int DEFAULT_MAX_ARRAY_LENGTH = 1 << 16;
+    /**
+     @value Количество ячеек полосы одного класса размеров при использовании конструктора без параметров
+     */
+    private static final int DEFAULT_SLOTS_PER_STRIPE = 4;
+    private static final int MIN_CLASS_SHIFT = Integer.numberOfTrailingZeros(MIN_ARRAY_LENGTH);
+    private static final ObjectArrayPool SHARED = new ObjectArrayPool();
+    private final int maxArrayLength;
+    private final int slotsPerStripe;
+    private final int stripeMask;
+    /**
+     Ячейки пула, для каждого класса размеров подряд идут все его полосы, пустая ячейка содержит null
+     */
+    private final AtomicReferenceArray<Object[]>[] slots;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     Конструктор без параметров, наибольшая длина пулируемого массива DEFAULT_MAX_ARRAY_LENGTH,
+     DEFAULT_SLOTS_PER_STRIPE ячеек на полосу
+     */
+    public ObjectArrayPool() {
+        this(DEFAULT_MAX_ARRAY_LENGTH, DEFAULT_SLOTS_PER_STRIPE);
+    }
+
+    /**
+     Конструктор с параметрами, количество полос равно ближайшей сверху степени двойки от числа процессоров
+     @param maxArrayLength - наибольшая длина пулируемого массива, округляется вверх до степени двойки,
+     большие массивы создаются и выбрасываются как обычно
+     @param slotsPerStripe - количество ячеек полосы одного класса размеров
+     @exception IllegalArgumentException - возникает если maxArrayLength меньше MIN_ARRAY_LENGTH, больше 2^30
+     или slotsPerStripe меньше 1
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public ObjectArrayPool(int maxArrayLength, int slotsPerStripe) {
+        if (maxArrayLength < MIN_ARRAY_LENGTH || maxArrayLength > 1 << 30 || slotsPerStripe < 1) {
+            throw new IllegalArgumentException("Capacity Is Wrong");
+        }
+        this.maxArrayLength = roundUp(maxArrayLength);
+        this.slotsPerStripe = slotsPerStripe;
+        int stripes = roundUp(Runtime.getRuntime().availableProcessors());
+        this.stripeMask = stripes - 1;
+        this.slots = new AtomicReferenceArray[sizeClass(this.maxArrayLength) + 1];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = new AtomicReferenceArray<>(stripes * slotsPerStripe);
+        }
+    }
+
+    /**
+     Метод возвращения общего пула с параметрами по умолчанию
+     @return ObjectArrayPool - общий для всех списков пул
+     */
+    public static ObjectArrayPool shared() {
+        return SHARED;
+    }
+
+    /**
+     Метод получения массива из пула, если в полосе текущего потока нет массива нужного класса, создается новый
+     @param minLength - наименьшая требуемая длина массива
+     @return Object[] - массив длины не меньше minLength, заполненный null, длины до maxArrayLength округляются
+     вверх до степени двойки
+     @exception IllegalArgumentException - возникает если длина отрицательна
+     */
+    public Object[] borrow(int minLength) {
+        if (minLength < 0) {
+            throw new IllegalArgumentException("Capacity Is Wrong");
+        }
+        if (minLength > maxArrayLength) {
+            misses.increment();
+            return new Object[minLength];
+        }
+        int length = Math.max(MIN_ARRAY_LENGTH, roundUp(minLength));
+        AtomicReferenceArray<Object[]> classSlots = slots[sizeClass(length)];
+        int from = stripe() * slotsPerStripe;
+        for (int i = from; i < from + slotsPerStripe; i++) {
+            Object[] array = classSlots.get(i);
+            if (array != null && classSlots.compareAndSet(i, array, null)) {
+                hits.increment();
+                return array;
+            }
+        }
+        misses.increment();
+        return new Object[length];
+    }
+
+    /**
+     Метод возврата массива в пул, массивы, длина которых не является классом размеров пула, и массивы,
+     для которых нет свободной ячейки, отбрасываются. После возврата массив нельзя использовать
+     @param array - массив, все ячейки которого равны null
+     @return boolean - true если массив сохранен в пуле
+     */
+    public boolean giveBack(Object[] array) {
+        int length = array.length;
+        if (length < MIN_ARRAY_LENGTH || length > maxArrayLength || Integer.bitCount(length) != 1) {
+            return false;
+        }
+        AtomicReferenceArray<Object[]> classSlots = slots[sizeClass(length)];
+        int from = stripe() * slotsPerStripe;
+        for (int i = from; i < from + slotsPerStripe; i++) {
+            if (classSlots.get(i) == null && classSlots.compareAndSet(i, null, array)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     Метод возвращения количества запросов, обслуженных массивом из пула
+     @return long - количество попаданий
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     Метод возвращения количества запросов, для которых пришлось создать новый массив
+     @return long - количество промахов
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     Метод выбора полосы по номеру текущего потока
+     */
+    private int stripe() {
+        return (int) Thread.currentThread().getId() & stripeMask;
+    }
+
+    private static int sizeClass(int length) {
+        return Integer.numberOfTrailingZeros(length) - MIN_CLASS_SHIFT;
+    }
+
+    private static int roundUp(int value) {
+        return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+}
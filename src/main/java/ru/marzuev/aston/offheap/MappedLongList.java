@@ -0,0 +1,153 @@
+package ru.marzuev.aston.offheap;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ Класс MappedLongList со свойствами <b>channel</b> и <b>header</b>, сохраняемый список примитивов типа long,
+ значения которого хранятся в файле, отображенном в память через FileChannel.map. В начале файла находится
+ заголовок с размером, емкостью, емкостью сегмента и признаком сортировки, за ним идут сегменты значений.
+ Открытие существующего файла не читает значения: отображаются только сегменты, а страницы подгружаются
+ операционной системой при первом обращении, поэтому binarySearch сразу работает по данным файла.
+ Размер и признак сортировки хранятся в памяти и записываются в заголовок только в force и close, поэтому
+ заголовок на диске всегда описывает значения, уже записанные на диск, а изменения после последнего force
+ при сбое теряются
+ @author Марзуев Владимир
+ @version 1.0
+ */
+public class MappedLongList extends SegmentedLongList {
+    /**
+     @value Количество значений в сегменте по умолчанию, сегмент занимает 8 МиБ
+     */
+    private static final int DEFAULT_SEGMENT_CAPACITY = 1 << 20;
+    /**
+     @value Метка формата файла, записывается в начало заголовка
+     */
+    private static final long MAGIC = 0x4D594C4953543031L;
+    /**
+     @value Длинна заголовка в байтах, значения начинаются после него
+     */
+    private static final int HEADER_SIZE = 64;
+    private static final int SEGMENT_CAPACITY_OFFSET = 8;
+    private static final int SORTED_OFFSET = 12;
+    private static final int SIZE_OFFSET = 16;
+    private static final int CAPACITY_OFFSET = 24;
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+
+    private MappedLongList(FileChannel channel, MappedByteBuffer header, int segmentCapacity) {
+        super(segmentCapacity);
+        this.channel = channel;
+        this.header = header;
+    }
+
+    /**
+     Метод открытия списка из файла, если файла нет или он пуст, создается новый список с емкостью сегмента
+     по умолчанию
+     @param path - путь к файлу
+     @return MappedLongList - открытый список
+     @exception IOException - возникает при ошибке ввода-вывода или если файл не является файлом списка
+     */
+    public static MappedLongList open(Path path) throws IOException {
+        return open(path, DEFAULT_SEGMENT_CAPACITY);
+    }
+
+    /**
+     Метод открытия списка из файла, для существующего файла емкость сегмента берется из заголовка
+     @param path - путь к файлу
+     @param segmentCapacity - емкость сегмента нового файла, степень двойки
+     @return MappedLongList - открытый список
+     @exception IOException - возникает при ошибке ввода-вывода или если файл не является файлом списка
+     @exception IllegalArgumentException - возникает если емкость сегмента не степень двойки или меньше 16
+     */
+    public static MappedLongList open(Path path, int segmentCapacity) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            boolean created = channel.size() == 0;
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            if (created) {
+                header.putLong(0, MAGIC);
+                header.putInt(SEGMENT_CAPACITY_OFFSET, segmentCapacity);
+                header.putInt(SORTED_OFFSET, 1);
+            } else if (header.getLong(0) != MAGIC) {
+                throw new IOException("File Is Not A List");
+            }
+            MappedLongList list = new MappedLongList(channel, header, header.getInt(SEGMENT_CAPACITY_OFFSET));
+            list.size = header.getLong(SIZE_OFFSET);
+            list.sorted = header.getInt(SORTED_OFFSET) != 0;
+            long capacity = header.getLong(CAPACITY_OFFSET);
+            while (list.capacity() < capacity) {
+                list.addSegment();
+            }
+            return list;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     Метод отображения в память очередного сегмента файла, файл при необходимости удлиняется
+     @exception UncheckedIOException - возникает при ошибке ввода-вывода
+     */
+    @Override
+    ByteBuffer newSegment(int index) {
+        long segmentBytes = (long) (segmentMask + 1) * Long.BYTES;
+        try {
+            MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_WRITE,
+                    HEADER_SIZE + index * segmentBytes, segmentBytes);
+            header.putLong(CAPACITY_OFFSET, Math.max(header.getLong(CAPACITY_OFFSET),
+                    (long) (index + 1) << segmentShift));
+            return segment.order(ByteOrder.LITTLE_ENDIAN);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     Метод записи изменений на диск: сначала значения, и только после этого размер и признак сортировки
+     записываются в заголовок, который сбрасывается последним, поэтому после сбоя заголовок не указывает
+     на незаписанные значения
+     @exception IllegalStateException - возникает, если список закрыт
+     */
+    public void force() {
+        checkOpen();
+        for (int i = 0; i < segmentCount; i++) {
+            ((MappedByteBuffer) segments[i]).force();
+        }
+        writeState();
+        header.force();
+    }
+
+    /**
+     Метод закрытия файла после освобождения отображенных сегментов, размер и признак сортировки записываются
+     в заголовок, а изменения, не записанные force, записываются операционной системой позже
+     @exception UncheckedIOException - возникает при ошибке закрытия файла
+     */
+    @Override
+    void closeResources() {
+        writeState();
+        free(header);
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     Метод записи размера и признака сортировки в заголовок
+     */
+    private void writeState() {
+        header.putLong(SIZE_OFFSET, size);
+        header.putInt(SORTED_OFFSET, sorted ? 1 : 0);
+    }
+}
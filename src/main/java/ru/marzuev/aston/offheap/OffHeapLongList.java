@@ -0,0 +1,71 @@
+package ru.marzuev.aston.offheap;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ Класс OffHeapLongList, список примитивов типа long, значения которого хранятся вне кучи Java в прямых буферах
+ ByteBuffer одинаковой емкости, поэтому размер кучи не зависит от количества значений. Память освобождается
+ явно методом close, после чего список использовать нельзя
+ @author Марзуев Владимир
+ @version 1.0
+ */
+public class OffHeapLongList extends SegmentedLongList {
+    /**
+     @value Количество значений в сегменте при использовании конструктора без параметров, сегмент занимает 1 МиБ
+     */
+    private static final int DEFAULT_SEGMENT_CAPACITY = 1 << 17;
+
+    /**
+     Конструктор без параметров, емкость сегмента равна DEFAULT_SEGMENT_CAPACITY
+     */
+    public OffHeapLongList() {
+        this(DEFAULT_SEGMENT_CAPACITY);
+    }
+
+    /**
+     Конструктор с параметром указывающий количество значений в одном сегменте
+     @param segmentCapacity - емкость сегмента, степень двойки
+     @exception IllegalArgumentException - возникает если емкость не степень двойки или меньше 16
+     */
+    public OffHeapLongList(int segmentCapacity) {
+        super(segmentCapacity);
+    }
+
+    /**
+     Метод выделения нового сегмента вне кучи
+     */
+    @Override
+    ByteBuffer newSegment(int index) {
+        return ByteBuffer.allocateDirect((segmentMask + 1) * Long.BYTES).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     Метод освобождения сегментов, которые не содержат элементов списка
+     */
+    public void trimToSize() {
+        checkOpen();
+        int used = (int) ((size + segmentMask) >>> segmentShift);
+        for (int i = used; i < segmentCount; i++) {
+            free(segments[i]);
+            segments[i] = null;
+        }
+        segmentCount = used;
+    }
+
+    /**
+     Метод возвращения объема памяти вне кучи, выделенной под сегменты
+     @return long - количество байт
+     */
+    public long offHeapBytes() {
+        return capacity() * Long.BYTES;
+    }
+
+    /**
+     Метод обнуления размера после освобождения сегментов, значения закрытого списка не сохраняются
+     */
+    @Override
+    void closeResources() {
+        size = 0;
+    }
+}
@@ -0,0 +1,460 @@
+package ru.marzuev.aston.offheap;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.util.Arrays;
+
+/**
+ Класс SegmentedLongList со свойствами <b>segments</b>, <b>size</b> и <b>sorted</b>, общая основа списков
+ примитивов типа long, значения которых хранятся вне кучи Java в буферах ByteBuffer одинаковой емкости.
+ Список растет добавлением новых сегментов, уже записанные значения при этом не копируются. Наследник определяет,
+ откуда берется сегмент, и может сохранять размер и признак сортировки при их изменении. Индексы имеют тип long,
+ поэтому размер списка не ограничен максимальным значением int
+ @author Марзуев Владимир
+ @version 1.0
+ */
+abstract class SegmentedLongList implements AutoCloseable {
+    /**
+     @value Минимальное количество значений в сегменте
+     */
+    private static final int MIN_SEGMENT_CAPACITY = 16;
+    /**
+     @value Длинна подмассива, начиная с которой он сортируется вставками
+     */
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+    /**
+     Экземпляр sun.misc.Unsafe и его метод invokeCleaner для освобождения прямых буферов, null если недоступны
+     */
+    private static final Object UNSAFE;
+    private static final Method INVOKE_CLEANER;
+    final int segmentShift;
+    final int segmentMask;
+    ByteBuffer[] segments = new ByteBuffer[8];
+    int segmentCount = 0;
+    long size = 0;
+    /**
+     Признак того, что значения списка упорядочены по возрастанию, поддерживается при каждом изменении
+     */
+    boolean sorted = true;
+    private boolean closed = false;
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            unsafe = field.get(null);
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            invokeCleaner = null;
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    /**
+     Конструктор с параметром указывающий количество значений в одном сегменте
+     @param segmentCapacity - емкость сегмента, степень двойки
+     @exception IllegalArgumentException - возникает если емкость не степень двойки или меньше MIN_SEGMENT_CAPACITY
+     */
+    SegmentedLongList(int segmentCapacity) {
+        if (segmentCapacity < MIN_SEGMENT_CAPACITY || Integer.bitCount(segmentCapacity) != 1
+                || segmentCapacity > Integer.MAX_VALUE / Long.BYTES) {
+            throw new IllegalArgumentException("Capacity Is Wrong");
+        }
+        segmentShift = Integer.numberOfTrailingZeros(segmentCapacity);
+        segmentMask = segmentCapacity - 1;
+    }
+
+    /**
+     Метод получения нового сегмента емкостью segmentMask + 1 значений
+     @param index - номер сегмента
+     @return ByteBuffer - буфер длинной (segmentMask + 1) * 8 байт
+     */
+    abstract ByteBuffer newSegment(int index);
+
+    /**
+     Метод, вызываемый при закрытии списка после освобождения сегментов, по умолчанию ничего не делает
+     */
+    void closeResources() {
+    }
+
+    /**
+     Метод добавления элемента в конец списка, при заполнении последнего сегмента добавляется новый
+     @param element - элемент, который требуется добавить
+     @exception IllegalStateException - возникает, если список закрыт
+     */
+    public boolean add(long element) {
+        checkOpen();
+        if (size == (long) segmentCount << segmentShift) {
+            addSegment();
+        }
+        sorted = sorted && (size == 0 || load(size - 1) <= element);
+        put(size, element);
+        size++;
+        return true;
+    }
+
+    /**
+     Метод добавления элемента в определенное место списка, элементы правее индекса сдвигаются на месте
+     @param element - элемент, который требуется добавить
+     @param index - индекс списка, куда нужно добавить элемент
+     @exception ArrayIndexOutOfBoundsException - возникает если указан не валидный индекс
+     @exception IllegalStateException - возникает, если список закрыт
+     */
+    public void add(long element, long index) {
+        checkOpen();
+        if (index > size || index < 0) {
+            throw new ArrayIndexOutOfBoundsException("Index Is Wrong");
+        }
+        boolean keepsOrder = sorted && (index == 0 || load(index - 1) <= element)
+                && (index == size || element <= load(index));
+        add(0L);
+        for (long i = size - 1; i > index; i--) {
+            put(i, load(i - 1));
+        }
+        put(index, element);
+        sorted = keepsOrder;
+    }
+
+    /**
+     Метод по возвращению элемента списка по определенному индексу
+     @param index - индекс списка, по которому возвращается элемент
+     @return long - возвращаемый элемент списка
+     @exception ArrayIndexOutOfBoundsException - возникает если указан не валидный индекс
+     @exception IllegalStateException - возникает, если список закрыт
+     */
+    public long get(long index) {
+        checkOpen();
+        if (index >= size || index < 0) {
+            throw new ArrayIndexOutOfBoundsException("Index Is Wrong");
+        }
+        return load(index);
+    }
+
+    /**
+     Метод изменения элемента списка по определенному индексу
+     @param index - индекс элемента, который будет заменен
+     @param element - элемент на который будет заменен текущий
+     @return long - элемент, который был заменен
+     @exception ArrayIndexOutOfBoundsException - возникает, если индекс не валиден
+     @exception IllegalStateException - возникает, если список закрыт
+     */
+    public long set(long index, long element) {
+        long old = get(index);
+        put(index, element);
+        if (sorted && ((index > 0 && load(index - 1) > element) || (index < size - 1 && element > load(index + 1)))) {
+            sorted = false;
+        }
+        return old;
+    }
+
+    /**
+     Метод по удалению элемента из списка по определенному индексу, элементы правее индекса сдвигаются на месте
+     @param index - индекс элемента, который требуется удалить
+     @return long - возвращает элемент, который был удален
+     @exception ArrayIndexOutOfBoundsException - возникает если указан не валидный индекс
+     @exception IllegalStateException - возникает, если список закрыт
+     */
+    public long remove(long index) {
+        long element = get(index);
+        for (long i = index + 1; i < size; i++) {
+            put(i - 1, load(i));
+        }
+        size--;
+        return element;
+    }
+
+    /**
+     Метод показывающий индекс первого вхождения элемента в списке
+     @return long - если больше или равно 0, то это и есть индекс, а если равен -1, то элемента в списке
+     не существует
+     @exception IllegalStateException - возникает, если список закрыт
+     */
+    public long indexOf(long element) {
+        checkOpen();
+        for (long i = 0; i < size; i++) {
+            if (load(i) == element) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     Метод, который показывает, содержит ли список определенный элемент
+     @param element - элемент, который надо искать
+     @return boolean - true если коллекция содержит элемент, false если нет
+     */
+    public boolean contains(long element) {
+        return indexOf(element) >= 0;
+    }
+
+    /**
+     Метод сортировки списка в естественном порядке на месте по алгоритму introsort. Подмассив, который целиком
+     лежит в одном сегменте, копируется во временный массив размером с сегмент и сортируется Arrays.sort,
+     поэтому дополнительная память в куче ограничена одним сегментом
+     @exception IllegalStateException - возникает, если список закрыт
+     */
+    public void quickSort() {
+        checkOpen();
+        if (sorted) {
+            return;
+        }
+        long[] buffer = new long[(int) Math.min(size, segmentMask + 1L)];
+        introSort(0, size - 1, 2 * (64 - Long.numberOfLeadingZeros(size)), buffer);
+        sorted = true;
+    }
+
+    /**
+     Метод бинарного поиска элемента списка, производится только после сортировки
+     @param element - искомый элемент
+     @return long - индекс списка, где находится элемент, если -1, то элемента нет
+     @exception IllegalStateException - возникает, если список закрыт
+     */
+    public long binarySearch(long element) {
+        checkOpen();
+        long low = 0;
+        long high = size - 1;
+        while (low <= high) {
+            long mid = (low + high) >>> 1;
+            long value = load(mid);
+            if (value < element) {
+                low = mid + 1;
+            } else if (value > element) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     Метод, который показывает, упорядочены ли значения списка по возрастанию
+     @return boolean - true если список отсортирован
+     */
+    public boolean isSorted() {
+        return sorted;
+    }
+
+    /**
+     Метод очищения коллекции, сегменты сохраняются и используются повторно
+     */
+    public void clear() {
+        checkOpen();
+        size = 0;
+        sorted = true;
+    }
+
+    /**
+     Метод, который показывает пуста коллекция или нет
+     @return boolean - true если пуста, false если нет
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     Метод возвращения размера списка
+     @return long - величина переменной size
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     Метод возвращения емкости всех сегментов
+     @return long - количество значений, которое помещается в сегменты без добавления новых
+     */
+    public long capacity() {
+        return (long) segmentCount << segmentShift;
+    }
+
+    /**
+     Метод возвращающий копию элементов списка в виде массива
+     @return long[] - массив длинной size
+     @exception IllegalStateException - возникает, если список закрыт или не помещается в массив
+     */
+    public long[] toArray() {
+        checkOpen();
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("List Is Too Large");
+        }
+        long[] answer = new long[(int) size];
+        for (int i = 0; i < answer.length; i++) {
+            answer[i] = load(i);
+        }
+        return answer;
+    }
+
+    /**
+     Метод освобождения всех сегментов, повторный вызов ничего не делает
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (int i = 0; i < segmentCount; i++) {
+            free(segments[i]);
+            segments[i] = null;
+        }
+        segmentCount = 0;
+        closeResources();
+    }
+
+    private void introSort(long begin, long end, int depth, long[] buffer) {
+        while (end - begin >= INSERTION_SORT_THRESHOLD) {
+            if (begin >>> segmentShift == end >>> segmentShift) {
+                sortInSegment(begin, end, buffer);
+                return;
+            }
+            if (depth == 0) {
+                heapSort(begin, end);
+                return;
+            }
+            depth--;
+            long pivot = medianOfThree(load(begin), load((begin + end) >>> 1), load(end));
+            long less = begin;
+            long greater = end;
+            long i = begin;
+            while (i <= greater) {
+                long value = load(i);
+                if (value < pivot) {
+                    swap(less++, i++);
+                } else if (value > pivot) {
+                    swap(i, greater--);
+                } else {
+                    i++;
+                }
+            }
+            if (less - begin < end - greater) {
+                introSort(begin, less - 1, depth, buffer);
+                begin = greater + 1;
+            } else {
+                introSort(greater + 1, end, depth, buffer);
+                end = less - 1;
+            }
+        }
+        insertionSort(begin, end);
+    }
+
+    /**
+     Метод сортировки подмассива, лежащего в одном сегменте, через временный массив в куче
+     */
+    private void sortInSegment(long begin, long end, long[] buffer) {
+        int length = (int) (end - begin + 1);
+        LongBuffer view = segments[(int) (begin >>> segmentShift)].asLongBuffer();
+        int offset = (int) (begin & segmentMask);
+        view.position(offset);
+        view.get(buffer, 0, length);
+        Arrays.sort(buffer, 0, length);
+        view.position(offset);
+        view.put(buffer, 0, length);
+    }
+
+    private void insertionSort(long begin, long end) {
+        for (long i = begin + 1; i <= end; i++) {
+            long value = load(i);
+            long j = i - 1;
+            while (j >= begin && load(j) > value) {
+                put(j + 1, load(j));
+                j--;
+            }
+            put(j + 1, value);
+        }
+    }
+
+    private void heapSort(long begin, long end) {
+        long length = end - begin + 1;
+        for (long i = length / 2 - 1; i >= 0; i--) {
+            siftDown(begin, i, length);
+        }
+        for (long i = length - 1; i > 0; i--) {
+            swap(begin, begin + i);
+            siftDown(begin, 0, i);
+        }
+    }
+
+    private void siftDown(long begin, long node, long length) {
+        long value = load(begin + node);
+        while (2 * node + 1 < length) {
+            long child = 2 * node + 1;
+            if (child + 1 < length && load(begin + child + 1) > load(begin + child)) {
+                child++;
+            }
+            long childValue = load(begin + child);
+            if (value >= childValue) {
+                break;
+            }
+            put(begin + node, childValue);
+            node = child;
+        }
+        put(begin + node, value);
+    }
+
+    private static long medianOfThree(long a, long b, long c) {
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+
+    private void swap(long first, long second) {
+        long value = load(first);
+        put(first, load(second));
+        put(second, value);
+    }
+
+    long load(long index) {
+        return segments[(int) (index >>> segmentShift)].getLong((int) (index & segmentMask) << 3);
+    }
+
+    void put(long index, long value) {
+        segments[(int) (index >>> segmentShift)].putLong((int) (index & segmentMask) << 3, value);
+    }
+
+    /**
+     Метод добавления нового сегмента, массив ссылок на сегменты копируется, а сами значения нет
+     */
+    void addSegment() {
+        if (segmentCount == segments.length) {
+            segments = Arrays.copyOf(segments, segments.length * 2);
+        }
+        segments[segmentCount] = newSegment(segmentCount);
+        segmentCount++;
+    }
+
+    void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("List Is Closed");
+        }
+    }
+
+    /**
+     Метод немедленного освобождения памяти прямого буфера, если Unsafe недоступен, память освободится
+     сборщиком мусора после потери ссылки на буфер
+     @param buffer - прямой буфер
+     */
+    static void free(ByteBuffer buffer) {
+        if (INVOKE_CLEANER == null) {
+            return;
+        }
+        try {
+            INVOKE_CLEANER.invoke(UNSAFE, buffer);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Buffer Is Not Released", e);
+        }
+    }
+
+    /**
+     Метод стандартный выводящий список в строковом виде
+     */
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
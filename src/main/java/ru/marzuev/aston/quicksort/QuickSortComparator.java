@@ -1,13 +1,29 @@
 package ru.marzuev.aston.quicksort;
 
 import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
 
 /**
- Класс MyArrayList со свойствами <b>comparator</b> и <b>array</b>, собственная частичная реализация класса ArrayList
+ Класс QuickSortComparator со свойствами <b>comparator</b> и <b>array</b>, сортировка массива объектов
+ по алгоритму introsort: быстрая сортировка с выбором опорного элемента медианой трех и трехсторонним
+ разбиением, сортировка вставками для маленьких подмассивов и пирамидальная сортировка при превышении
+ глубины рекурсии, что гарантирует O(n log n) в худшем случае и глубину стека O(log n)
  @author Марзуев Владимир
  @version 1.0
  */
 public class QuickSortComparator {
+    /**
+     @value Длинна подмассива, начиная с которой он сортируется вставками
+     */
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+    /**
+     @value Длинна подмассива, начиная с которой опорный элемент выбирается медианой из трех медиан
+     */
+    private static final int NINTHER_THRESHOLD = 128;
+    /**
+     @value Длинна подмассива, меньше которой параллельная сортировка не создает новых задач
+     */
+    static final int PARALLEL_THRESHOLD = 1 << 13;
     private final Comparator<Object> comparator;
     private final Object[] array;
 
@@ -17,8 +33,7 @@ public class QuickSortComparator {
     }
 
     /**
-     Метод добавления элемента в конец списка, при заполнении внутреннего массива и дальнейшем добавлении
-     элемента, происходит расширение
+     Метод сортировки подмассива, границы включаются в сортировку
      @param begin - номер первого элемента подмассива
      @param end - номер конечного элемента подмассива
      */
@@ -26,32 +41,241 @@ public class QuickSortComparator {
         if (begin >= end) {
             return;
         }
-        int pivot = partition(begin, end);
-        quickSort(begin, pivot - 1);
-        quickSort(pivot + 1, end);
+        introSort(begin, end, depthLimit(end - begin + 1));
+    }
+
+    /**
+     Метод параллельной сортировки подмассива в пуле fork-join, части разбиения длиннее PARALLEL_THRESHOLD
+     сортируются отдельными задачами, короткие подмассивы сортируются последовательно без создания задач,
+     компаратор должен допускать одновременный вызов из нескольких потоков
+     @param begin - номер первого элемента подмассива
+     @param end - номер конечного элемента подмассива
+     @param pool - пул потоков, в котором выполняется сортировка
+     */
+    public void parallelQuickSort(int begin, int end, ForkJoinPool pool) {
+        if (end - begin < PARALLEL_THRESHOLD) {
+            quickSort(begin, end);
+            return;
+        }
+        pool.invoke(new QuickSortTask(this, begin, end, depthLimit(end - begin + 1)));
+    }
+
+    /**
+     Метод выбора k-го по порядку элемента подмассива по алгоритму introselect: после разбиения обрабатывается
+     только та часть, в которой находится позиция k, поэтому в среднем выполняется O(n) сравнений, а при
+     превышении глубины подмассив досортировывается пирамидальной сортировкой. После вызова на позиции k стоит
+     элемент, который стоял бы там после полной сортировки, левее не большие элементы, правее не меньшие
+     @param begin - номер первого элемента подмассива
+     @param end - номер конечного элемента подмассива
+     @param k - номер позиции от begin до end
+     */
+    public void select(int begin, int end, int k) {
+        int depth = depthLimit(end - begin + 1);
+        while (end - begin >= INSERTION_SORT_THRESHOLD) {
+            if (depth == 0) {
+                heapSort(begin, end);
+                return;
+            }
+            depth--;
+            long bounds = partition(begin, end);
+            int less = lessEnd(bounds);
+            int greater = greaterBegin(bounds);
+            if (k <= less) {
+                end = less;
+            } else if (k >= greater) {
+                begin = greater;
+            } else {
+                return;
+            }
+        }
+        insertionSort(begin, end);
+    }
+
+    /**
+     Метод частичной сортировки: первые count элементов подмассива становятся наименьшими и упорядочиваются,
+     порядок остальных не определен. Выполняется выбором позиции begin + count - 1 и сортировкой левой части
+     за O(n + count log count)
+     @param begin - номер первого элемента подмассива
+     @param end - номер конечного элемента подмассива
+     @param count - количество упорядочиваемых наименьших элементов
+     */
+    public void partialSort(int begin, int end, int count) {
+        if (count <= 0) {
+            return;
+        }
+        select(begin, end, begin + count - 1);
+        quickSort(begin, begin + count - 2);
+    }
+
+    /**
+     Метод вычисления допустимой глубины рекурсии быстрой сортировки, после которой подмассив досортировывается
+     пирамидальной сортировкой
+     @param length - длинна сортируемого подмассива
+     @return int - удвоенный двоичный логарифм длинны
+     */
+    static int depthLimit(int length) {
+        return 2 * (32 - Integer.numberOfLeadingZeros(length));
+    }
+
+    /**
+     Метод сортировки подмассива с ограничением глубины, рекурсия вызывается только для меньшей части разбиения,
+     а большая обрабатывается в цикле
+     @param begin - номер первого элемента подмассива
+     @param end - номер конечного элемента подмассива
+     @param depth - оставшаяся допустимая глубина рекурсии
+     */
+    void introSort(int begin, int end, int depth) {
+        while (end - begin >= INSERTION_SORT_THRESHOLD) {
+            if (depth == 0) {
+                heapSort(begin, end);
+                return;
+            }
+            depth--;
+            long bounds = partition(begin, end);
+            int less = lessEnd(bounds);
+            int greater = greaterBegin(bounds);
+            if (less - begin < end - greater) {
+                introSort(begin, less, depth);
+                begin = greater;
+            } else {
+                introSort(greater, end, depth);
+                end = less;
+            }
+        }
+        insertionSort(begin, end);
+    }
+
+    /**
+     Метод трехстороннего разбиения подмассива вокруг опорного элемента: слева оказываются элементы меньше
+     опорного, в середине равные ему, справа большие, поэтому массивы с большим числом одинаковых
+     элементов не вырождают сортировку
+     @param begin - номер первого элемента подмассива
+     @param end - номер конечного элемента подмассива
+     @return long - упакованные границы: номер последнего меньшего элемента и номер первого большего,
+     извлекаются методами lessEnd и greaterBegin
+     */
+    long partition(int begin, int end) {
+        Object pivot = array[choosePivot(begin, end)];
+        int less = begin;
+        int i = begin;
+        int greater = end;
+
+        while (i <= greater) {
+            int compare = comparator.compare(array[i], pivot);
+            if (compare < 0) {
+                swap(less++, i++);
+            } else if (compare > 0) {
+                swap(i, greater--);
+            } else {
+                i++;
+            }
+        }
+        return ((long) (less - 1) << 32) | ((greater + 1) & 0xFFFFFFFFL);
+    }
+
+    /**
+     Метод извлечения номера последнего элемента, меньшего опорного, из результата partition
+     @param bounds - упакованные границы разбиения
+     @return int - номер элемента, может быть меньше begin, если таких элементов нет
+     */
+    static int lessEnd(long bounds) {
+        return (int) (bounds >> 32);
     }
 
     /**
-     Метод поиска опорного элемента подмассива, вокруг которого будет строиться сортировка
+     Метод извлечения номера первого элемента, большего опорного, из результата partition
+     @param bounds - упакованные границы разбиения
+     @return int - номер элемента, может быть больше end, если таких элементов нет
+     */
+    static int greaterBegin(long bounds) {
+        return (int) bounds;
+    }
+
+    /**
+     Метод выбора опорного элемента: медиана первого, среднего и последнего элементов, а для больших
+     подмассивов медиана из трех таких медиан
      @param begin - номер первого элемента подмассива
      @param end - номер конечного элемента подмассива
+     @return int - номер опорного элемента
      */
-    private int partition(int begin, int end) {
-        int pivot = end;
-        int counter = begin;
+    private int choosePivot(int begin, int end) {
+        int middle = (begin + end) >>> 1;
+        if (end - begin < NINTHER_THRESHOLD) {
+            return medianOfThree(begin, middle, end);
+        }
+        int step = (end - begin) / 8;
+        int first = medianOfThree(begin, begin + step, begin + 2 * step);
+        int second = medianOfThree(middle - step, middle, middle + step);
+        int third = medianOfThree(end - 2 * step, end - step, end);
+        return medianOfThree(first, second, third);
+    }
 
-        for (int i = begin; i < end; i++) {
-            if (comparator.compare(array[pivot], array[i]) > 0) {
-                Object temp = array[counter];
-                array[counter] = array[i];
-                array[i] = temp;
-                counter++;
+    private int medianOfThree(int a, int b, int c) {
+        if (comparator.compare(array[a], array[b]) < 0) {
+            if (comparator.compare(array[b], array[c]) < 0) {
+                return b;
             }
+            return comparator.compare(array[a], array[c]) < 0 ? c : a;
         }
-        Object swap = array[counter];
-        array[counter] = array[pivot];
-        array[pivot] = swap;
+        if (comparator.compare(array[a], array[c]) < 0) {
+            return a;
+        }
+        return comparator.compare(array[b], array[c]) < 0 ? c : b;
+    }
+
+    /**
+     Метод сортировки вставками, используется для маленьких подмассивов
+     @param begin - номер первого элемента подмассива
+     @param end - номер конечного элемента подмассива
+     */
+    private void insertionSort(int begin, int end) {
+        for (int i = begin + 1; i <= end; i++) {
+            Object element = array[i];
+            int j = i - 1;
+            while (j >= begin && comparator.compare(array[j], element) > 0) {
+                array[j + 1] = array[j];
+                j--;
+            }
+            array[j + 1] = element;
+        }
+    }
+
+    /**
+     Метод пирамидальной сортировки подмассива, вызывается когда быстрая сортировка превысила допустимую глубину
+     @param begin - номер первого элемента подмассива
+     @param end - номер конечного элемента подмассива
+     */
+    void heapSort(int begin, int end) {
+        int length = end - begin + 1;
+        for (int i = length / 2 - 1; i >= 0; i--) {
+            siftDown(begin, i, length);
+        }
+        for (int last = length - 1; last > 0; last--) {
+            swap(begin, begin + last);
+            siftDown(begin, 0, last);
+        }
+    }
+
+    private void siftDown(int offset, int node, int length) {
+        Object element = array[offset + node];
+        int half = length >>> 1;
+        while (node < half) {
+            int child = 2 * node + 1;
+            if (child + 1 < length && comparator.compare(array[offset + child], array[offset + child + 1]) < 0) {
+                child++;
+            }
+            if (comparator.compare(element, array[offset + child]) >= 0) {
+                break;
+            }
+            array[offset + node] = array[offset + child];
+            node = child;
+        }
+        array[offset + node] = element;
+    }
 
-        return counter;
+    private void swap(int i, int j) {
+        Object temp = array[i];
+        array[i] = array[j];
+        array[j] = temp;
     }
 }
@@ -0,0 +1,36 @@
+package ru.marzuev.aston.quicksort;
+
+import java.util.concurrent.RecursiveAction;
+
+/**
+ Класс QuickSortTask со свойствами <b>sorter</b>, <b>begin</b>, <b>end</b> и <b>depth</b>, задача fork-join
+ параллельной сортировки: подмассив разбивается и обе части сортируются параллельными подзадачами, пока их
+ длинна больше PARALLEL_THRESHOLD, дальше используется последовательная сортировка
+ @author Марзуев Владимир
+ @version 1.0
+ */
+class QuickSortTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    private final QuickSortComparator sorter;
+    private final int begin;
+    private final int end;
+    private final int depth;
+
+    QuickSortTask(QuickSortComparator sorter, int begin, int end, int depth) {
+        this.sorter = sorter;
+        this.begin = begin;
+        this.end = end;
+        this.depth = depth;
+    }
+
+    @Override
+    protected void compute() {
+        if (end - begin < QuickSortComparator.PARALLEL_THRESHOLD || depth == 0) {
+            sorter.introSort(begin, end, depth);
+            return;
+        }
+        long bounds = sorter.partition(begin, end);
+        invokeAll(new QuickSortTask(sorter, begin, QuickSortComparator.lessEnd(bounds), depth - 1),
+                new QuickSortTask(sorter, QuickSortComparator.greaterBegin(bounds), end, depth - 1));
+    }
+}
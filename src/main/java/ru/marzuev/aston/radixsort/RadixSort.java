@@ -0,0 +1,149 @@
+package ru.marzuev.aston.radixsort;
+
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ Класс RadixSort со свойством <b>array</b>, поразрядная сортировка (LSD radix sort) объектов по целочисленному
+ ключу: ключ каждого элемента извлекается один раз в примитивный массив, после чего элементы устойчиво
+ раскладываются по байтам ключа от младшего к старшему без вызовов компаратора, за время O(n)
+ @author Марзуев Владимир
+ @version 1.0
+ */
+public class RadixSort {
+    /**
+     @value Количество бит, обрабатываемых за один проход
+     */
+    private static final int RADIX_BITS = 8;
+    /**
+     @value Количество корзин одного прохода
+     */
+    private static final int BUCKETS = 1 << RADIX_BITS;
+    private static final int MASK = BUCKETS - 1;
+    private final Object[] array;
+
+    public RadixSort(Object[] array) {
+        this.array = array;
+    }
+
+    /**
+     Метод сортировки подмассива по ключу типа int, порядок ключей как у Integer.compare, сортировка устойчива
+     @param begin - номер первого элемента подмассива
+     @param end - номер конечного элемента подмассива
+     @param key - функция извлечения ключа, вызывается ровно один раз для каждого элемента
+     */
+    @SuppressWarnings("unchecked")
+    public <T> void sortByIntKey(int begin, int end, ToIntFunction<? super T> key) {
+        int length = end - begin + 1;
+        if (length < 2) {
+            return;
+        }
+        int[] keys = new int[length];
+        for (int i = 0; i < length; i++) {
+            keys[i] = key.applyAsInt((T) array[begin + i]) ^ Integer.MIN_VALUE;
+        }
+        int passes = Integer.SIZE / RADIX_BITS;
+        int[] counts = new int[passes * BUCKETS];
+        for (int value : keys) {
+            for (int pass = 0; pass < passes; pass++) {
+                counts[pass * BUCKETS + ((value >>> (pass * RADIX_BITS)) & MASK)]++;
+            }
+        }
+
+        int[] keysTo = new int[length];
+        Object[] from = new Object[length];
+        Object[] to = new Object[length];
+        System.arraycopy(array, begin, from, 0, length);
+        for (int pass = 0; pass < passes; pass++) {
+            int offset = pass * BUCKETS;
+            if (!prepareOffsets(counts, offset, length)) {
+                continue;
+            }
+            int shift = pass * RADIX_BITS;
+            for (int i = 0; i < length; i++) {
+                int value = keys[i];
+                int position = counts[offset + ((value >>> shift) & MASK)]++;
+                keysTo[position] = value;
+                to[position] = from[i];
+            }
+            int[] swapKeys = keys;
+            keys = keysTo;
+            keysTo = swapKeys;
+            Object[] swap = from;
+            from = to;
+            to = swap;
+        }
+        System.arraycopy(from, 0, array, begin, length);
+    }
+
+    /**
+     Метод сортировки подмассива по ключу типа long, порядок ключей как у Long.compare, сортировка устойчива
+     @param begin - номер первого элемента подмассива
+     @param end - номер конечного элемента подмассива
+     @param key - функция извлечения ключа, вызывается ровно один раз для каждого элемента
+     */
+    @SuppressWarnings("unchecked")
+    public <T> void sortByLongKey(int begin, int end, ToLongFunction<? super T> key) {
+        int length = end - begin + 1;
+        if (length < 2) {
+            return;
+        }
+        long[] keys = new long[length];
+        for (int i = 0; i < length; i++) {
+            keys[i] = key.applyAsLong((T) array[begin + i]) ^ Long.MIN_VALUE;
+        }
+        int passes = Long.SIZE / RADIX_BITS;
+        int[] counts = new int[passes * BUCKETS];
+        for (long value : keys) {
+            for (int pass = 0; pass < passes; pass++) {
+                counts[pass * BUCKETS + (int) ((value >>> (pass * RADIX_BITS)) & MASK)]++;
+            }
+        }
+
+        long[] keysTo = new long[length];
+        Object[] from = new Object[length];
+        Object[] to = new Object[length];
+        System.arraycopy(array, begin, from, 0, length);
+        for (int pass = 0; pass < passes; pass++) {
+            int offset = pass * BUCKETS;
+            if (!prepareOffsets(counts, offset, length)) {
+                continue;
+            }
+            int shift = pass * RADIX_BITS;
+            for (int i = 0; i < length; i++) {
+                long value = keys[i];
+                int position = counts[offset + (int) ((value >>> shift) & MASK)]++;
+                keysTo[position] = value;
+                to[position] = from[i];
+            }
+            long[] swapKeys = keys;
+            keys = keysTo;
+            keysTo = swapKeys;
+            Object[] swap = from;
+            from = to;
+            to = swap;
+        }
+        System.arraycopy(from, 0, array, begin, length);
+    }
+
+    /**
+     Метод превращения гистограммы одного прохода в начальные позиции корзин, если все элементы попадают
+     в одну корзину, проход не меняет порядок и пропускается
+     @param counts - гистограммы всех проходов
+     @param offset - начало гистограммы текущего прохода
+     @param length - количество сортируемых элементов
+     @return boolean - true если проход нужно выполнить
+     */
+    private static boolean prepareOffsets(int[] counts, int offset, int length) {
+        int sum = 0;
+        for (int i = offset; i < offset + BUCKETS; i++) {
+            int count = counts[i];
+            if (count == length) {
+                return false;
+            }
+            counts[i] = sum;
+            sum += count;
+        }
+        return true;
+    }
+}
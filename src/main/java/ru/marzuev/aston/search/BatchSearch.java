@@ -0,0 +1,183 @@
+package ru.marzuev.aston.search;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ Класс BatchSearch со свойством <b>comparator</b>, пакетный поиск по отсортированному массиву. Вместо отдельного
+ бинарного поиска для каждого запроса запросы упорядочиваются и проходятся вместе с массивом одним курсором,
+ который продвигается галопом: пробуются позиции через 1, 2, 4, 8... элементов, после чего граница уточняется
+ бинарным поиском в последнем отрезке. Курсор только растет, поэтому память читается последовательно, а m запросов
+ к n элементам стоят O(m log(n / m) + m) сравнений, что не больше O(n + m)
+ @author Марзуев Владимир
+ @version 1.0
+ */
+public class BatchSearch {
+    private final Comparator<Object> comparator;
+
+    public BatchSearch(Comparator<Object> comparator) {
+        this.comparator = comparator;
+    }
+
+    /**
+     Метод поиска всех запросов в отсортированном массиве, запросы могут идти в любом порядке: если они
+     не упорядочены, устойчиво сортируется массив их номеров, сами запросы не переставляются
+     @param sorted - массив, отсортированный компаратором comparator
+     @param size - количество элементов массива sorted, участвующих в поиске
+     @param queries - массив искомых элементов
+     @param count - количество запросов в начале массива queries
+     @return int[] - для каждого запроса индекс первого равного ему элемента sorted или -1, если такого нет
+     */
+    public int[] searchAll(Object[] sorted, int size, Object[] queries, int count) {
+        int[] result = new int[count];
+        int[] order = isSorted(queries, count) ? null : sortOrder(queries, count);
+        int cursor = 0;
+        for (int i = 0; i < count; i++) {
+            int query = order == null ? i : order[i];
+            Object element = queries[query];
+            cursor = gallop(sorted, cursor, size, element);
+            result[query] = cursor < size && comparator.compare(sorted[cursor], element) == 0 ? cursor : -1;
+        }
+        return result;
+    }
+
+    /**
+     Метод пересечения двух отсортированных массивов: оба курсора продвигаются галопом, поэтому длинные отрезки
+     без совпадений пропускаются за логарифмическое число сравнений
+     @param first - первый отсортированный массив
+     @param firstSize - количество элементов первого массива
+     @param second - второй отсортированный массив
+     @param secondSize - количество элементов второго массива
+     @return int[] - возрастающие индексы элементов first, для которых во втором массиве есть равный элемент
+     */
+    public int[] intersect(Object[] first, int firstSize, Object[] second, int secondSize) {
+        int[] result = new int[Math.min(firstSize, 16)];
+        int found = 0;
+        int i = 0;
+        int j = 0;
+        while (i < firstSize && j < secondSize) {
+            int compare = comparator.compare(first[i], second[j]);
+            if (compare < 0) {
+                i = gallop(first, i + 1, firstSize, second[j]);
+            } else if (compare > 0) {
+                j = gallop(second, j + 1, secondSize, first[i]);
+            } else {
+                if (found == result.length) {
+                    result = Arrays.copyOf(result, Math.min(firstSize, found * 2));
+                }
+                result[found++] = i++;
+            }
+        }
+        return Arrays.copyOf(result, found);
+    }
+
+    /**
+     Метод разности двух отсортированных массивов, устроен как intersect, но возвращает пропущенные элементы
+     @param first - первый отсортированный массив
+     @param firstSize - количество элементов первого массива
+     @param second - второй отсортированный массив
+     @param secondSize - количество элементов второго массива
+     @return int[] - возрастающие индексы элементов first, для которых во втором массиве нет равного элемента
+     */
+    public int[] difference(Object[] first, int firstSize, Object[] second, int secondSize) {
+        int[] result = new int[firstSize];
+        int found = 0;
+        int i = 0;
+        int j = 0;
+        while (i < firstSize && j < secondSize) {
+            int compare = comparator.compare(first[i], second[j]);
+            if (compare < 0) {
+                int next = gallop(first, i + 1, firstSize, second[j]);
+                while (i < next) {
+                    result[found++] = i++;
+                }
+            } else if (compare > 0) {
+                j = gallop(second, j + 1, secondSize, first[i]);
+            } else {
+                i++;
+            }
+        }
+        while (i < firstSize) {
+            result[found++] = i++;
+        }
+        return Arrays.copyOf(result, found);
+    }
+
+    /**
+     Метод галопирующего поиска первого элемента, не меньшего element, в подмассиве [from, to): шаг
+     удваивается, пока элемент на пробной позиции меньше искомого, затем граница уточняется бинарным поиском
+     @param array - отсортированный массив
+     @param from - индекс, с которого начинается поиск
+     @param to - индекс, следующий за последним элементом подмассива
+     @param element - искомый элемент
+     @return int - индекс первого элемента, не меньшего element, или to, если все элементы меньше
+     */
+    public int gallop(Object[] array, int from, int to, Object element) {
+        int low = from;
+        int step = 1;
+        while (low < to && comparator.compare(array[low], element) < 0) {
+            from = low + 1;
+            low = to - low > step ? low + step : to;
+            step <<= 1;
+        }
+        int high = low;
+        low = from;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (comparator.compare(array[mid], element) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     Метод проверки, что первые count элементов массива не убывают
+     @param array - проверяемый массив
+     @param count - количество проверяемых элементов
+     @return boolean - true если элементы упорядочены компаратором
+     */
+    public boolean isSorted(Object[] array, int count) {
+        for (int i = 1; i < count; i++) {
+            if (comparator.compare(array[i - 1], array[i]) > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     Метод устойчивой сортировки номеров элементов восходящим слиянием, сами элементы не переставляются
+     @param array - массив сортируемых элементов
+     @param count - количество элементов
+     @return int[] - номера элементов в порядке возрастания элементов
+     */
+    private int[] sortOrder(Object[] array, int count) {
+        int[] order = new int[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        int[] buffer = new int[count];
+        for (int width = 1; width < count; width <<= 1) {
+            for (int begin = 0; begin < count; begin += width << 1) {
+                int middle = Math.min(begin + width, count);
+                int end = Math.min(begin + (width << 1), count);
+                int left = begin;
+                int right = middle;
+                for (int k = begin; k < end; k++) {
+                    if (right >= end || left < middle && comparator.compare(array[order[left]], array[order[right]]) <= 0) {
+                        buffer[k] = order[left++];
+                    } else {
+                        buffer[k] = order[right++];
+                    }
+                }
+            }
+            int[] swap = order;
+            order = buffer;
+            buffer = swap;
+        }
+        return order;
+    }
+}
@@ -0,0 +1,134 @@
+package ru.marzuev.aston.search;
+
+import java.util.Comparator;
+
+/**
+ Класс EytzingerSearchIndex со свойствами <b>tree</b>, <b>positions</b> и <b>comparator</b>, неизменяемый индекс
+ для поиска по отсортированному списку. Элементы раскладываются в порядке обхода в ширину неявного двоичного
+ дерева (раскладка Эйтцингера): первые уровни спуска лежат в соседних ячейках и остаются в кэше, а спуск
+ выполняется без ветвлений по результату сравнения, с одним вызовом компаратора на уровень
+ @author Марзуев Владимир
+ @version 1.0
+ */
+public class EytzingerSearchIndex<T> {
+    private final Comparator<Object> comparator;
+    /**
+     Элементы в раскладке Эйтцингера, ячейка 0 не используется, потомки ячейки k находятся в 2k и 2k + 1
+     */
+    private final Object[] tree;
+    /**
+     Индекс в исходном отсортированном списке для каждой ячейки tree
+     */
+    private final int[] positions;
+    private final int size;
+
+    /**
+     Конструктор индекса по отсортированному подмассиву, подмассив копируется, поэтому последующие изменения
+     списка не влияют на индекс
+     @param sorted - массив, отсортированный компаратором comparator
+     @param size - количество элементов массива, входящих в индекс
+     @param comparator - компаратор, которым был отсортирован массив
+     @exception IllegalArgumentException - возникает, если size больше половины Integer.MAX_VALUE, при котором
+     номера ячеек дерева переполняют int
+     */
+    public EytzingerSearchIndex(Object[] sorted, int size, Comparator<Object> comparator) {
+        if (size < 0 || size > Integer.MAX_VALUE >> 1) {
+            throw new IllegalArgumentException("Size Is Wrong");
+        }
+        this.comparator = comparator;
+        this.size = size;
+        this.tree = new Object[size + 1];
+        this.positions = new int[size + 1];
+        fill(sorted, 0, 1);
+    }
+
+    /**
+     Метод заполнения дерева симметричным обходом, который ставит элементы отсортированного массива
+     в ячейки по порядку, итеративно спускаясь по левым потомкам, чтобы глубина стека была O(log n)
+     @param sorted - отсортированный массив
+     @param next - номер следующего элемента sorted
+     @param node - номер ячейки дерева
+     @return int - номер следующего незаписанного элемента sorted
+     */
+    private int fill(Object[] sorted, int next, int node) {
+        while (node <= size) {
+            next = fill(sorted, next, 2 * node);
+            tree[node] = sorted[next];
+            positions[node] = next;
+            next++;
+            node = 2 * node + 1;
+        }
+        return next;
+    }
+
+    /**
+     Метод поиска индекса первого элемента, не меньшего element
+     @param element - искомый элемент
+     @return int - индекс в отсортированном списке, равен size, если все элементы меньше element
+     */
+    public int lowerBound(T element) {
+        int node = 1;
+        while (node <= size) {
+            node = 2 * node + (comparator.compare(tree[node], element) < 0 ? 1 : 0);
+        }
+        return position(node);
+    }
+
+    /**
+     Метод поиска индекса первого элемента, строго большего element
+     @param element - искомый элемент
+     @return int - индекс в отсортированном списке, равен size, если все элементы не больше element
+     */
+    public int upperBound(T element) {
+        int node = 1;
+        while (node <= size) {
+            node = 2 * node + (comparator.compare(tree[node], element) <= 0 ? 1 : 0);
+        }
+        return position(node);
+    }
+
+    /**
+     Метод поиска элемента, аналог MyList.binarySearch, но с одним вызовом компаратора на уровень дерева
+     @param element - искомый элемент
+     @return int - индекс первого равного элемента в отсортированном списке, если -1, то элемента нет
+     */
+    public int binarySearch(T element) {
+        int node = 1;
+        while (node <= size) {
+            node = 2 * node + (comparator.compare(tree[node], element) < 0 ? 1 : 0);
+        }
+        node >>>= Integer.numberOfTrailingZeros(~node) + 1;
+        if (node == 0 || comparator.compare(tree[node], element) != 0) {
+            return -1;
+        }
+        return positions[node];
+    }
+
+    /**
+     Метод, который показывает, содержит ли индекс элемент, равный element по компаратору
+     @param element - элемент, который надо искать
+     @return boolean - true если элемент найден, false если нет
+     */
+    public boolean contains(T element) {
+        return binarySearch(element) >= 0;
+    }
+
+    /**
+     Метод возвращения количества элементов в индексе
+     @return int - количество элементов
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     Метод перевода ячейки, на которой закончился спуск, в индекс отсортированного списка: последний поворот
+     направо отменяется сдвигом на количество завершающих единиц плюс один
+     @param node - номер ячейки за пределами дерева, на которой закончился спуск
+     @return int - индекс найденного элемента или size, если спуск все время шел направо
+     */
+    private int position(int node) {
+        node >>>= Integer.numberOfTrailingZeros(~node) + 1;
+        return node == 0 ? size : positions[node];
+    }
+}
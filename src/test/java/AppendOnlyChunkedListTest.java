@@ -0,0 +1,106 @@
+import org.junit.jupiter.api.Test;
+import ru.marzuev.aston.myarraylist.AppendOnlyChunkedList;
+import ru.marzuev.aston.myarraylist.MyArrayList;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AppendOnlyChunkedListTest {
+    private static final int PRODUCERS = 8;
+    private static final int ELEMENTS_PER_PRODUCER = 100_000;
+
+    @Test
+    public void addAndGetAcrossChunks() {
+        AppendOnlyChunkedList<Integer> list = new AppendOnlyChunkedList<>();
+        assertTrue(list.isEmpty());
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i, list.add(i));
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i, list.get(i));
+        }
+        assertEquals(10_000, list.size());
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> list.get(10_000));
+        assertThrows(NullPointerException.class, () -> list.add(null));
+    }
+
+    @Test
+    public void drainToListKeepsOrder() {
+        AppendOnlyChunkedList<Integer> list = new AppendOnlyChunkedList<>();
+        MyArrayList<Integer> target = new MyArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            list.add(i);
+        }
+        assertEquals(100, list.drainTo(target));
+        assertEquals(0, list.drainTo(target));
+        for (int i = 100; i < 1000; i++) {
+            list.add(i);
+        }
+        assertEquals(900, list.drainTo(target));
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, target.get(i));
+        }
+        assertEquals(1000, list.drainedCount());
+    }
+
+    @Test
+    public void throwingSinkDoesNotCauseRedelivery() {
+        AppendOnlyChunkedList<Integer> list = new AppendOnlyChunkedList<>();
+        for (int i = 0; i < 200; i++) {
+            list.add(i);
+        }
+        MyArrayList<Integer> target = new MyArrayList<>();
+        assertThrows(IllegalStateException.class, () -> list.drainTo(element -> {
+            if (element == 150) {
+                throw new IllegalStateException();
+            }
+            target.add(element);
+        }));
+        assertEquals(150, list.drainedCount());
+        assertEquals(50, list.drainTo(target));
+        assertEquals(200, target.size());
+        for (int i = 0; i < 200; i++) {
+            assertEquals(i, target.get(i));
+        }
+    }
+
+    @Test
+    public void concurrentProducersWithDrainingConsumer() throws InterruptedException {
+        AppendOnlyChunkedList<Integer> list = new AppendOnlyChunkedList<>();
+        Thread[] producers = new Thread[PRODUCERS];
+        for (int p = 0; p < PRODUCERS; p++) {
+            int producer = p;
+            producers[p] = new Thread(() -> {
+                for (int i = 0; i < ELEMENTS_PER_PRODUCER; i++) {
+                    list.add(producer * ELEMENTS_PER_PRODUCER + i);
+                }
+            });
+        }
+        boolean[] seen = new boolean[PRODUCERS * ELEMENTS_PER_PRODUCER];
+        AtomicBoolean duplicate = new AtomicBoolean();
+        Thread consumer = new Thread(() -> {
+            while (list.drainedCount() < seen.length) {
+                list.drainTo(element -> {
+                    if (seen[element]) {
+                        duplicate.set(true);
+                    }
+                    seen[element] = true;
+                });
+            }
+        });
+        consumer.start();
+        for (Thread producer : producers) {
+            producer.start();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        consumer.join();
+        assertFalse(duplicate.get());
+        for (boolean element : seen) {
+            assertTrue(element);
+        }
+        assertEquals(seen.length, list.size());
+    }
+}
@@ -0,0 +1,91 @@
+import org.junit.jupiter.api.Test;
+import ru.marzuev.aston.myarraylist.CompressedSortedIntList;
+import ru.marzuev.aston.myarraylist.MyArrayList;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompressedSortedIntListTest {
+
+    private static MyArrayList<Integer> listOf(int[] values) {
+        MyArrayList<Integer> list = new MyArrayList<>(values.length);
+        for (int value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+
+    private static void assertMatches(int[] values) {
+        CompressedSortedIntList compressed = new CompressedSortedIntList(listOf(values));
+        assertEquals(values.length, compressed.size());
+        assertArrayEquals(values, compressed.toArray());
+        PrimitiveIterator.OfInt iterator = compressed.iterator();
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(values[i], compressed.get(i));
+            assertEquals(values[i], iterator.nextInt());
+            int first = i;
+            while (first > 0 && values[first - 1] == values[i]) {
+                first--;
+            }
+            assertEquals(first, compressed.binarySearch(values[i]));
+        }
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::nextInt);
+    }
+
+    @Test
+    public void roundTripsBlocksOfAnyShape() {
+        Random random = new Random(25);
+        for (int size : new int[] {0, 1, 2, 127, 128, 129, 1000}) {
+            int[] values = new int[size];
+            for (int i = 0; i < size; i++) {
+                values[i] = random.nextInt(500) - 250;
+            }
+            Arrays.sort(values);
+            assertMatches(values);
+        }
+        int[] extremes = {Integer.MIN_VALUE, Integer.MIN_VALUE, -1, 0, 1, Integer.MAX_VALUE - 1, Integer.MAX_VALUE};
+        assertMatches(extremes);
+    }
+
+    @Test
+    public void searchReportsMissingValues() {
+        int[] values = new int[1000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i * 3;
+        }
+        CompressedSortedIntList compressed = new CompressedSortedIntList(listOf(values));
+        for (int element = -5; element < 3005; element++) {
+            assertEquals(element >= 0 && element % 3 == 0 && element < 3000 ? element / 3 : -1,
+                    compressed.binarySearch(element));
+        }
+        assertFalse(compressed.contains(Integer.MIN_VALUE));
+        assertTrue(compressed.contains(2997));
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> compressed.get(1000));
+    }
+
+    @Test
+    public void denseIdsTakeFewBitsPerValue() {
+        Random random = new Random(5);
+        MyArrayList<Integer> ids = new MyArrayList<>();
+        int id = 1_000_000;
+        for (int i = 0; i < 100_000; i++) {
+            id += 1 + random.nextInt(4);
+            ids.add(id);
+        }
+        CompressedSortedIntList compressed = new CompressedSortedIntList(ids);
+        assertTrue(compressed.memoryUsage() * 8 < (long) ids.size() * Integer.BYTES, "bytes " + compressed.memoryUsage());
+        assertEquals(ids.get(54_321), compressed.get(54_321));
+        assertEquals(54_321, compressed.binarySearch(ids.get(54_321)));
+    }
+
+    @Test
+    public void rejectsUnsortedInput() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new CompressedSortedIntList(listOf(new int[] {1, 2, 3, 2})));
+    }
+}
@@ -0,0 +1,148 @@
+import org.junit.jupiter.api.Test;
+import ru.marzuev.aston.myarraylist.ConcurrentMyArrayList;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConcurrentMyArrayListTest {
+    private static final int THREADS = 8;
+    private static final int ELEMENTS_PER_THREAD = 10_000;
+
+    @Test
+    public void concurrentAddsAndOptimisticReads() throws Exception {
+        ConcurrentMyArrayList<Integer> list = new ConcurrentMyArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS * 2);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < ELEMENTS_PER_THREAD; i++) {
+                        list.add(i);
+                    }
+                }));
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < ELEMENTS_PER_THREAD; i++) {
+                        int size = list.size();
+                        if (size > 0) {
+                            assertNotNull(list.get(size - 1));
+                        }
+                        if (i % 100 == 0) {
+                            assertFalse(list.contains(-1));
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+        assertEquals(THREADS * ELEMENTS_PER_THREAD, list.size());
+    }
+
+    @Test
+    public void addIfAbsentIsAtomic() throws Exception {
+        ConcurrentMyArrayList<Integer> list = new ConcurrentMyArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        list.addIfAbsent(i);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(1000, list.size());
+    }
+
+    @Test
+    public void computeIncrementsAtomically() throws Exception {
+        ConcurrentMyArrayList<Integer> list = new ConcurrentMyArrayList<>();
+        list.add(0);
+        Thread[] threads = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < ELEMENTS_PER_THREAD; i++) {
+                    list.compute(0, value -> value + 1);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(THREADS * ELEMENTS_PER_THREAD, list.get(0));
+    }
+
+    @Test
+    public void sortSearchAndStream() {
+        ConcurrentMyArrayList<Integer> list = new ConcurrentMyArrayList<>(4);
+        for (int i = 100; i > 0; i--) {
+            list.add(i);
+        }
+        Comparator<Object> comparator = Comparator.comparingInt(o -> (int) o);
+        list.quickSort(comparator);
+        assertEquals(41, list.binarySearch(42, comparator));
+        assertEquals(41, list.indexOf(42));
+        assertEquals(5050, list.stream().mapToInt(Integer::intValue).sum());
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> list.get(100));
+    }
+
+    @Test
+    public void indexedLookupsUseInnerIndex() throws Exception {
+        ConcurrentMyArrayList<Integer> list = new ConcurrentMyArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            list.add(1000 - i);
+        }
+        list.quickSort(Comparator.comparingInt(o -> (int) o));
+        assertEquals(41, list.indexOf(42));
+        assertEquals(-1, list.indexOf(0));
+        assertTrue(list.contains(1000));
+        assertFalse(list.contains(1001));
+
+        list.enableHashIndex();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 500; i++) {
+                    list.add(-i - 1, 0);
+                }
+            }));
+            for (int t = 1; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 2000; i++) {
+                        int value = 1 + i % 1000;
+                        assertEquals(value, list.get(list.indexOf(value)));
+                        assertTrue(list.contains(value));
+                        assertFalse(list.contains(-5000 - value));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(500 + 41, list.indexOf(42));
+        list.disableHashIndex();
+        assertEquals(500 + 41, list.indexOf(42));
+    }
+}
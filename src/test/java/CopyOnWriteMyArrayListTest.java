@@ -0,0 +1,116 @@
+import org.junit.jupiter.api.Test;
+import ru.marzuev.aston.myarraylist.CopyOnWriteMyArrayList;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CopyOnWriteMyArrayListTest {
+
+    @Test
+    public void iteratorSeesSnapshot() {
+        CopyOnWriteMyArrayList<Integer> list = new CopyOnWriteMyArrayList<>();
+        list.add(1);
+        list.add(3);
+        list.add(2, 1);
+        Iterator<Integer> iterator = list.iterator();
+        list.remove(0);
+        list.set(0, 20);
+        list.clear();
+        assertEquals(1, iterator.next());
+        assertEquals(2, iterator.next());
+        assertEquals(3, iterator.next());
+        assertFalse(iterator.hasNext());
+        assertTrue(list.isEmpty());
+    }
+
+    @Test
+    public void mutatePublishesWholeBatchAtOnce() {
+        CopyOnWriteMyArrayList<Integer> list = new CopyOnWriteMyArrayList<>();
+        list.mutate(batch -> {
+            for (int i = 10; i > 0; i--) {
+                batch.add(i);
+            }
+            batch.quickSort(Comparator.comparingInt(o -> (int) o));
+            batch.removeIf(element -> element % 2 == 0);
+        });
+        assertEquals("[1, 3, 5, 7, 9]", list.toString());
+        assertEquals(2, list.binarySearch(5, Comparator.comparingInt(o -> (int) o)));
+        assertThrows(IllegalStateException.class, () -> list.mutate(batch -> {
+            batch.add(11);
+            throw new IllegalStateException();
+        }));
+        assertEquals(5, list.size());
+    }
+
+    @Test
+    public void batchOfAddsCopiesArrayOnce() {
+        CopyOnWriteMyArrayList<Integer> list = new CopyOnWriteMyArrayList<>();
+        list.addAll(new Integer[] {1, 2, 3, 4, 5, 6, 7, 8}, 0);
+        assertEquals(8, list.capacity());
+        list.mutate(batch -> {
+            for (int i = 0; i < 5; i++) {
+                batch.add(i);
+            }
+        });
+        assertEquals(8 + 8 / 2 + 1, list.capacity());
+        list.mutate(100, batch -> {
+            for (int i = 0; i < 100; i++) {
+                batch.add(i, 0);
+            }
+        });
+        assertEquals(113, list.capacity());
+        assertEquals(113, list.size());
+        assertEquals(99, list.get(0));
+    }
+
+    @Test
+    public void shrinkingOperationsLeaveNoSpareCapacity() {
+        CopyOnWriteMyArrayList<Integer> list = new CopyOnWriteMyArrayList<>();
+        list.addAll(new Integer[] {5, 3, 9, 1, 7, 2, 8, 6, 4, 10}, 0);
+        list.quickSort(Comparator.comparingInt(o -> (int) o));
+        assertEquals(10, list.capacity());
+        list.mergeSort(Comparator.comparingInt(o -> -(int) o));
+        assertEquals(10, list.capacity());
+        list.removeIf(element -> element > 8);
+        list.retainAll(Arrays.asList(1, 2, 3, 4, 5, 6, 7));
+        list.removeRange(0, 2);
+        assertEquals("[5, 4, 3, 2, 1]", list.toString());
+        assertTrue(list.capacity() <= 8);
+    }
+
+    @Test
+    public void readersNeverSeeTornBatch() throws InterruptedException {
+        CopyOnWriteMyArrayList<Integer> list = new CopyOnWriteMyArrayList<>();
+        list.addAll(Arrays.asList(0, 0, 0, 0), 0);
+        AtomicBoolean torn = new AtomicBoolean();
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread reader = new Thread(() -> {
+            while (running.get()) {
+                int first = -1;
+                for (Integer element : list) {
+                    if (first == -1) {
+                        first = element;
+                    } else if (element != first) {
+                        torn.set(true);
+                    }
+                }
+            }
+        });
+        reader.start();
+        for (int round = 1; round < 20_000; round++) {
+            int value = round;
+            list.mutate(batch -> {
+                for (int i = 0; i < batch.size(); i++) {
+                    batch.set(i, value);
+                }
+            });
+        }
+        running.set(false);
+        reader.join();
+        assertFalse(torn.get());
+    }
+}
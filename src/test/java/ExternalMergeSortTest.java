@@ -0,0 +1,101 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.marzuev.aston.externalsort.ExternalMergeSort;
+import ru.marzuev.aston.externalsort.Serializer;
+import ru.marzuev.aston.externalsort.SortedIterator;
+import ru.marzuev.aston.myarraylist.MyArrayList;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExternalMergeSortTest {
+
+    private static final Serializer<long[]> PAIR = new Serializer<long[]>() {
+        @Override
+        public void write(long[] element, DataOutput out) throws IOException {
+            out.writeLong(element[0]);
+            out.writeLong(element[1]);
+        }
+
+        @Override
+        public long[] read(DataInput in) throws IOException {
+            return new long[]{in.readLong(), in.readLong()};
+        }
+    };
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void sortsStablyThroughSeveralMergePasses() throws IOException {
+        Random random = new Random(19);
+        List<long[]> source = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            source.add(new long[]{random.nextInt(500), i});
+        }
+        ExternalMergeSort<long[]> sort = new ExternalMergeSort<>(
+                Comparator.comparingLong(o -> ((long[]) o)[0]), PAIR, 100, 4, directory);
+        long count = 0;
+        try (SortedIterator<long[]> iterator = sort.sort(source.iterator())) {
+            long[] previous = null;
+            while (iterator.hasNext()) {
+                long[] current = iterator.next();
+                if (previous != null) {
+                    assertTrue(previous[0] < current[0] || previous[0] == current[0] && previous[1] < current[1]);
+                }
+                previous = current;
+                count++;
+            }
+        }
+        assertEquals(source.size(), count);
+        assertEmpty(directory);
+    }
+
+    @Test
+    public void smallInputStaysInMemory() throws IOException {
+        MyArrayList<long[]> source = new MyArrayList<>();
+        for (int i = 5; i > 0; i--) {
+            source.add(new long[]{i, i});
+        }
+        ExternalMergeSort<long[]> sort = new ExternalMergeSort<>(
+                Comparator.comparingLong(o -> ((long[]) o)[0]), PAIR, 10, 2, directory);
+        try (SortedIterator<long[]> iterator = sort.sort(source)) {
+            assertEmpty(directory);
+            for (int i = 1; i <= 5; i++) {
+                assertEquals(i, iterator.next()[0]);
+            }
+            assertFalse(iterator.hasNext());
+        }
+    }
+
+    @Test
+    public void closeRemovesUnreadRuns() throws IOException {
+        List<long[]> source = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            source.add(new long[]{-i, i});
+        }
+        ExternalMergeSort<long[]> sort = new ExternalMergeSort<>(
+                Comparator.comparingLong(o -> ((long[]) o)[0]), PAIR, 64, 32, directory);
+        SortedIterator<long[]> iterator = sort.sort(source.iterator());
+        assertEquals(-999, iterator.next()[0]);
+        iterator.close();
+        assertEmpty(directory);
+        assertThrows(IllegalArgumentException.class, () -> new ExternalMergeSort<>(null, PAIR, 0));
+    }
+
+    private static void assertEmpty(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+}
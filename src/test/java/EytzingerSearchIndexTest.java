@@ -0,0 +1,64 @@
+import org.junit.jupiter.api.Test;
+import ru.marzuev.aston.myarraylist.MyArrayList;
+import ru.marzuev.aston.search.EytzingerSearchIndex;
+
+import java.util.Comparator;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EytzingerSearchIndexTest {
+    private static final Comparator<Object> INTEGER_COMPARATOR = Comparator.comparingInt(o -> (int) o);
+
+    private static int naiveLowerBound(MyArrayList<Integer> list, int element) {
+        int i = 0;
+        while (i < list.size() && list.get(i) < element) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int naiveUpperBound(MyArrayList<Integer> list, int element) {
+        int i = 0;
+        while (i < list.size() && list.get(i) <= element) {
+            i++;
+        }
+        return i;
+    }
+
+    @Test
+    public void boundsMatchLinearScanForAllSizes() {
+        Random random = new Random(3);
+        for (int size = 0; size < 70; size++) {
+            MyArrayList<Integer> list = new MyArrayList<>();
+            for (int i = 0; i < size; i++) {
+                list.add(random.nextInt(20));
+            }
+            list.quickSort(INTEGER_COMPARATOR);
+            EytzingerSearchIndex<Integer> index = list.buildSearchIndex(INTEGER_COMPARATOR);
+            assertEquals(size, index.size());
+            for (int element = -1; element <= 21; element++) {
+                int lower = naiveLowerBound(list, element);
+                assertEquals(lower, index.lowerBound(element));
+                assertEquals(naiveUpperBound(list, element), index.upperBound(element));
+                boolean present = lower < size && list.get(lower) == element;
+                assertEquals(present ? lower : -1, index.binarySearch(element));
+                assertEquals(present, index.contains(element));
+            }
+        }
+    }
+
+    @Test
+    public void indexIsNotAffectedByListChanges() {
+        MyArrayList<Integer> list = new MyArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            list.add(i * 2);
+        }
+        EytzingerSearchIndex<Integer> index = list.buildSearchIndex(INTEGER_COMPARATOR);
+        list.clear();
+        assertEquals(250, index.binarySearch(500));
+        assertEquals(-1, index.binarySearch(501));
+        assertEquals(251, index.lowerBound(501));
+        assertEquals(1000, index.upperBound(5000));
+    }
+}
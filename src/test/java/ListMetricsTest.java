@@ -0,0 +1,105 @@
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.marzuev.aston.metrics.LatencyHistogram;
+import ru.marzuev.aston.metrics.ListMetrics;
+import ru.marzuev.aston.metrics.MetricsListener;
+import ru.marzuev.aston.myarraylist.MyArrayList;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ListMetricsTest {
+
+    private static final Comparator<Object> COMPARATOR = Comparator.comparingInt(o -> (int) o);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void countsResizesShiftsAndComparisons() {
+        ListMetrics metrics = new ListMetrics();
+        List<String> sorts = new ArrayList<>();
+        metrics.addListener(new MetricsListener() {
+            @Override
+            public void onSort(String algorithm, int size, long nanos, long comparisons) {
+                sorts.add(algorithm + ":" + size);
+            }
+        });
+        MyArrayList<Integer> list = new MyArrayList<>(2);
+        list.setMetrics(metrics);
+        for (int i = 0; i < 100; i++) {
+            list.add(100 - i);
+        }
+        assertTrue(metrics.resizes() > 0);
+        assertTrue(metrics.copiedElements() > 0);
+        list.add(0, 0);
+        list.remove(0);
+        assertEquals(200, metrics.shiftedElements());
+        list.quickSort(COMPARATOR);
+        long sortComparisons = metrics.comparisons();
+        assertTrue(sortComparisons >= 99);
+        assertEquals(6, list.binarySearch(7, COMPARATOR));
+        assertTrue(metrics.comparisons() > sortComparisons);
+        assertEquals(1, metrics.sortLatency().count());
+        assertEquals(1, metrics.searchLatency().count());
+        assertEquals(List.of("quickSort:100"), sorts);
+        assertSame(COMPARATOR, list.getSortedComparator());
+
+        list.setMetrics(null);
+        list.mergeSort(COMPARATOR);
+        list.add(1, 0);
+        assertEquals(1, metrics.sortLatency().count());
+        assertEquals(200, metrics.shiftedElements());
+        metrics.reset();
+        assertEquals(0, metrics.comparisons());
+    }
+
+    @Test
+    public void histogramQuantiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.quantile(0.5));
+        for (int i = 0; i < 90; i++) {
+            histogram.record(100);
+        }
+        for (int i = 0; i < 10; i++) {
+            histogram.record(5000);
+        }
+        assertEquals(100, histogram.count());
+        assertEquals(127, histogram.quantile(0.5));
+        assertEquals(8191, histogram.quantile(0.99));
+        assertEquals(90, histogram.bucketCount(7));
+        assertThrows(IllegalArgumentException.class, () -> histogram.quantile(2));
+    }
+
+    @Test
+    public void recordsFlightRecorderEvents() throws IOException {
+        Path file = directory.resolve("metrics.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("ru.marzuev.aston.Sort").withThreshold(Duration.ZERO);
+            recording.enable("ru.marzuev.aston.Resize");
+            recording.start();
+            MyArrayList<Integer> list = new MyArrayList<>(1);
+            list.setMetrics(new ListMetrics(64));
+            for (int i = 0; i < 200; i++) {
+                list.add(-i);
+            }
+            list.mergeSort(COMPARATOR);
+            recording.stop();
+            recording.dump(file);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertTrue(events.stream().anyMatch(event -> event.getEventType().getName().equals("ru.marzuev.aston.Resize")
+                && event.getInt("newCapacity") >= 64));
+        assertTrue(events.stream().anyMatch(event -> event.getEventType().getName().equals("ru.marzuev.aston.Sort")
+                && event.getString("algorithm").equals("mergeSort") && event.getInt("size") == 200));
+    }
+}
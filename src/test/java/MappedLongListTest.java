@@ -0,0 +1,83 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.marzuev.aston.offheap.MappedLongList;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MappedLongListTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void reopensWithSizeAndSortedState() throws IOException {
+        Path file = directory.resolve("values.bin");
+        Random random = new Random(18);
+        long[] expected = new long[10000];
+        try (MappedLongList list = MappedLongList.open(file, 1024)) {
+            for (int i = 0; i < expected.length; i++) {
+                expected[i] = random.nextLong();
+                list.add(expected[i]);
+            }
+            assertFalse(list.isSorted());
+            list.quickSort();
+            assertTrue(list.isSorted());
+            list.force();
+        }
+        Arrays.sort(expected);
+        try (MappedLongList list = MappedLongList.open(file)) {
+            assertEquals(expected.length, list.size());
+            assertEquals(10240, list.capacity());
+            assertTrue(list.isSorted());
+            for (int i = 0; i < expected.length; i += 97) {
+                assertEquals(i, list.binarySearch(expected[i]));
+            }
+            list.add(Long.MIN_VALUE);
+            assertFalse(list.isSorted());
+        }
+        try (MappedLongList list = MappedLongList.open(file)) {
+            assertEquals(expected.length + 1, list.size());
+            assertFalse(list.isSorted());
+            assertEquals(Long.MIN_VALUE, list.remove(list.size() - 1));
+            list.clear();
+            assertTrue(list.isSorted());
+        }
+    }
+
+    @Test
+    public void headerChangesOnlyOnForceAndClose() throws IOException {
+        Path file = directory.resolve("header.bin");
+        try (MappedLongList list = MappedLongList.open(file, 1024)) {
+            list.add(1);
+            list.add(2);
+            list.add(3);
+            list.force();
+            list.add(0);
+            list.add(5);
+            assertEquals(3, storedSize(file));
+        }
+        assertEquals(5, storedSize(file));
+    }
+
+    @Test
+    public void rejectsForeignFile() throws IOException {
+        Path file = directory.resolve("foreign.bin");
+        Files.write(file, new byte[128]);
+        assertThrows(IOException.class, () -> MappedLongList.open(file));
+        MappedLongList list = MappedLongList.open(directory.resolve("closed.bin"));
+        list.close();
+        assertThrows(IllegalStateException.class, list::force);
+    }
+
+    private static long storedSize(Path file) throws IOException {
+        return ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN).getLong(16);
+    }
+}
@@ -0,0 +1,76 @@
+import org.junit.jupiter.api.Test;
+import ru.marzuev.aston.mergesort.MergeSortComparator;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MergeSortComparatorTest {
+    private static final int LARGE_SIZE = 1_000_000;
+    private static final Comparator<Object> KEY_COMPARATOR = Comparator.comparingInt(o -> ((int[]) o)[0]);
+
+    private static void sortAndCheck(Object[] array) {
+        Object[] expected = array.clone();
+        Arrays.sort(expected, KEY_COMPARATOR);
+        new MergeSortComparator(KEY_COMPARATOR, array).mergeSort(0, array.length - 1);
+        assertArrayEquals(expected, array);
+    }
+
+    private static Object[] createArray(int size) {
+        Object[] array = new Object[size];
+        for (int i = 0; i < size; i++) {
+            array[i] = new int[]{i, i};
+        }
+        return array;
+    }
+
+    @Test
+    public void mergeSortRandomIsStable() {
+        Random random = new Random(42);
+        for (int size : new int[]{1, 2, 31, 32, 1000, LARGE_SIZE}) {
+            Object[] array = createArray(size);
+            for (Object element : array) {
+                ((int[]) element)[0] = random.nextInt(size / 4 + 1);
+            }
+            sortAndCheck(array);
+        }
+    }
+
+    @Test
+    public void mergeSortNearlySortedWithAppends() {
+        Random random = new Random(11);
+        Object[] array = createArray(LARGE_SIZE);
+        for (int i = LARGE_SIZE - 300; i < LARGE_SIZE; i++) {
+            ((int[]) array[i])[0] = random.nextInt(LARGE_SIZE);
+        }
+        sortAndCheck(array);
+    }
+
+    @Test
+    public void mergeSortReversedAndSawtooth() {
+        Object[] reversed = createArray(LARGE_SIZE);
+        for (int i = 0; i < LARGE_SIZE; i++) {
+            ((int[]) reversed[i])[0] = LARGE_SIZE - i;
+        }
+        sortAndCheck(reversed);
+        Object[] sawtooth = createArray(LARGE_SIZE);
+        for (int i = 0; i < LARGE_SIZE; i++) {
+            ((int[]) sawtooth[i])[0] = i % 1000;
+        }
+        sortAndCheck(sawtooth);
+    }
+
+    @Test
+    public void mergeSortAlreadySortedMakesLinearComparisons() {
+        Object[] array = createArray(LARGE_SIZE);
+        long[] comparisons = new long[1];
+        Comparator<Object> counting = (a, b) -> {
+            comparisons[0]++;
+            return KEY_COMPARATOR.compare(a, b);
+        };
+        new MergeSortComparator(counting, array).mergeSort(0, array.length - 1);
+        assertEquals(LARGE_SIZE - 1, comparisons[0]);
+    }
+}
@@ -1,14 +1,22 @@
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import ru.marzuev.aston.myarraylist.CapacityPolicy;
+import ru.marzuev.aston.myarraylist.HysteresisCapacityPolicy;
 import ru.marzuev.aston.myarraylist.MyArrayList;
 import ru.marzuev.aston.myarraylist.MyList;
+import ru.marzuev.aston.myarraylist.ObjectArrayPool;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.Random;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
 
 public class MyArrayListTest {
     private static final int TEST_INTEGER = 12345;
@@ -265,4 +273,470 @@ public class MyArrayListTest {
         }
         assertEquals(list.size(), 9);
     }
+
+    @Test
+    public void addAllCollectionInMiddle() {
+        Integer first = list.get(0);
+        Integer last = list.get(list.size() - 1);
+        boolean answer = list.addAll(Arrays.asList(TEST_INTEGER, TEST_INTEGER + 1, TEST_INTEGER + 2), 1);
+        assertTrue(answer);
+        assertEquals(12, list.size());
+        assertEquals(first, list.get(0));
+        assertEquals(TEST_INTEGER, list.get(1));
+        assertEquals(TEST_INTEGER + 2, list.get(3));
+        assertEquals(last, list.get(list.size() - 1));
+    }
+
+    @Test
+    public void addAllArrayWithIncreaseArrayLength() {
+        Integer[] elements = new Integer[TEST_INTEGER];
+        Arrays.fill(elements, TEST_INTEGER);
+        list.addAll(elements, list.size());
+        assertEquals(TEST_INTEGER + INIT_LIST_SIZE_OF_RANDOM, list.size());
+        assertEquals(TEST_INTEGER, list.get(list.size() - 1));
+    }
+
+    @Test
+    public void removeRangeNormal() {
+        Integer last = list.get(list.size() - 1);
+        list.removeRange(2, 8);
+        assertEquals(3, list.size());
+        assertEquals(last, list.get(2));
+        list.removeRange(0, list.size());
+        assertTrue(list.isEmpty());
+    }
+
+    @Test
+    public void removeRangeFailedIndex() {
+        ArrayIndexOutOfBoundsException e = assertThrows(ArrayIndexOutOfBoundsException.class,
+                () -> list.removeRange(5, list.size() + 1));
+    }
+
+    @Test
+    public void removeIfAndRetainAll() {
+        list.clear();
+        for (int i = 0; i < TEST_INTEGER; i++) {
+            list.add(i);
+        }
+        assertTrue(list.removeIf(element -> element % 2 == 0));
+        assertEquals(TEST_INTEGER / 2, list.size());
+        assertEquals(1, list.get(0));
+        assertTrue(list.retainAll(Arrays.asList(1, 3, 5)));
+        assertEquals(3, list.size());
+        assertEquals(5, list.get(2));
+        assertFalse(list.removeIf(element -> element > TEST_INTEGER));
+    }
+
+    @Test
+    public void removeIfWithThrowingFilterLeavesListUnchanged() {
+        list.clear();
+        for (int i = 0; i < 10; i++) {
+            list.add(i);
+        }
+        assertThrows(IllegalStateException.class, () -> list.removeIf(element -> {
+            if (element == 7) {
+                throw new IllegalStateException();
+            }
+            return element % 2 == 0;
+        }));
+        assertEquals("[0, 1, 2, 3, 4, 5, 6, 7, 8, 9]", list.toString());
+        assertTrue(list.removeIf(element -> element % 2 == 0));
+        assertEquals("[1, 3, 5, 7, 9]", list.toString());
+    }
+
+    @Test
+    public void removeLastElementWithoutException() {
+        list.clear();
+        list.add(TEST_INTEGER);
+        assertEquals(TEST_INTEGER, list.remove(0));
+        assertTrue(list.isEmpty());
+    }
+
+    @Test
+    public void ensureCapacityAndTrimToSize() {
+        MyArrayList<Integer> sized = new MyArrayList<>();
+        sized.ensureCapacity(TEST_INTEGER);
+        assertTrue(sized.capacity() >= TEST_INTEGER);
+        int capacity = sized.capacity();
+        for (int i = 0; i < TEST_INTEGER; i++) {
+            sized.add(i);
+        }
+        assertEquals(capacity, sized.capacity());
+        sized.removeRange(10, TEST_INTEGER);
+        sized.trimToSize();
+        assertEquals(10, sized.capacity());
+        assertEquals(9, sized.get(9));
+    }
+
+    @Test
+    public void capacityPolicyWithHysteresis() {
+        MyArrayList<Integer> churn = new MyArrayList<>(16, new HysteresisCapacityPolicy(2, 4, 16));
+        for (int i = 0; i < 64; i++) {
+            churn.add(i);
+        }
+        assertEquals(64, churn.capacity());
+        for (int i = 0; i < 1000; i++) {
+            churn.remove(churn.size() - 1);
+            churn.add(i);
+        }
+        assertEquals(64, churn.capacity());
+        while (churn.size() > 16) {
+            churn.remove(0);
+        }
+        assertEquals(32, churn.capacity());
+        churn.clear();
+        assertEquals(32, churn.capacity());
+    }
+
+    @Test
+    public void addElementToZeroCapacityList() {
+        MyArrayList<Integer> empty = new MyArrayList<>(0);
+        empty.add(TEST_INTEGER);
+        assertEquals(TEST_INTEGER, empty.get(0));
+    }
+
+    @Test
+    public void parallelSortLargeList() {
+        MyArrayList<Integer> large = new MyArrayList<>();
+        for (int i = 0; i < 500_000; i++) {
+            large.add(random.nextInt(1000));
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            large.parallelSort(Comparator.comparingInt(o -> (int) o), pool);
+        } finally {
+            pool.shutdown();
+        }
+        for (int i = 0; i < large.size() - 1; i++) {
+            assertTrue(large.get(i) <= large.get(i + 1));
+        }
+        assertEquals(500_000, large.size());
+    }
+
+    @Test
+    public void parallelSortSmallList() {
+        MyArrayList<Integer> small = new MyArrayList<>();
+        for (int i = 0; i < INIT_LIST_SIZE_OF_RANDOM; i++) {
+            small.add(list.get(i));
+        }
+        small.parallelSort(Comparator.comparingInt(o -> (int) o));
+        for (int i = 0; i < small.size() - 1; i++) {
+            assertTrue(small.get(i) <= small.get(i + 1));
+        }
+    }
+
+    @Test
+    public void mergeSortKeepsOrderOfEqualElements() {
+        MyList<String> words = new MyArrayList<>();
+        words.addAll(Arrays.asList("bb", "a", "cc", "b", "aa", "c"), 0);
+        words.mergeSort(Comparator.comparingInt(o -> ((String) o).length()));
+        assertEquals("[a, b, c, bb, cc, aa]", words.toString());
+    }
+
+    @Test
+    public void sortByIntKeyWithNegativeKeys() {
+        MyArrayList<Integer> keys = new MyArrayList<>();
+        for (int i = 0; i < TEST_INTEGER; i++) {
+            keys.add(random.nextInt() >> random.nextInt(32));
+        }
+        keys.add(Integer.MIN_VALUE);
+        keys.add(Integer.MAX_VALUE);
+        keys.sortByIntKey(Integer::intValue);
+        for (int i = 0; i < keys.size() - 1; i++) {
+            assertTrue(keys.get(i) <= keys.get(i + 1));
+        }
+        assertEquals(Integer.MIN_VALUE, keys.get(0));
+    }
+
+    @Test
+    public void sortByLongKeyIsStable() {
+        MyArrayList<long[]> pairs = new MyArrayList<>();
+        for (int i = 0; i < TEST_INTEGER; i++) {
+            pairs.add(new long[]{random.nextInt(100) - 50L << 40, i});
+        }
+        pairs.sortByLongKey(pair -> pair[0]);
+        for (int i = 0; i < pairs.size() - 1; i++) {
+            long[] current = pairs.get(i);
+            long[] next = pairs.get(i + 1);
+            assertTrue(current[0] < next[0] || current[0] == next[0] && current[1] < next[1]);
+        }
+    }
+
+    @Test
+    public void sortedListUsesBinarySearchForIndexOf() {
+        MyArrayList<Integer> sorted = new MyArrayList<>();
+        for (int i = 0; i < TEST_INTEGER; i++) {
+            sorted.add(random.nextInt(100));
+        }
+        int[] comparisons = new int[1];
+        Comparator<Object> counting = (first, second) -> {
+            comparisons[0]++;
+            return Integer.compare((int) first, (int) second);
+        };
+        sorted.quickSort(counting);
+        assertEquals(counting, sorted.getSortedComparator());
+        int expected = 0;
+        while (sorted.get(expected) < 50) {
+            expected++;
+        }
+        comparisons[0] = 0;
+        assertEquals(expected, sorted.indexOf(50));
+        assertTrue(comparisons[0] < 30);
+        assertFalse(sorted.contains(UNKNOWN_ELEMENT));
+    }
+
+    @Test
+    public void sortedStateKeptOrInvalidatedByMutations() {
+        MyArrayList<Integer> sorted = new MyArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            sorted.add(i * 10);
+        }
+        Comparator<Object> comparator = Comparator.comparingInt(o -> (int) o);
+        sorted.mergeSort(comparator);
+        sorted.add(100);
+        sorted.add(15, 2);
+        sorted.set(0, -5);
+        sorted.remove(3);
+        assertEquals(comparator, sorted.getSortedComparator());
+        sorted.add(1);
+        assertNull(sorted.getSortedComparator());
+        assertEquals(sorted.size() - 1, sorted.indexOf(1));
+        assertThrows(IllegalStateException.class, () -> sorted.insertSorted(TEST_INTEGER));
+    }
+
+    @Test
+    public void insertSortedKeepsOrder() {
+        MyArrayList<Integer> sorted = new MyArrayList<>();
+        sorted.sortByIntKey(Integer::intValue);
+        for (int i = 0; i < 1000; i++) {
+            sorted.insertSorted(random.nextInt(200));
+        }
+        for (int i = 0; i < sorted.size() - 1; i++) {
+            assertTrue(sorted.get(i) <= sorted.get(i + 1));
+        }
+        assertNotNull(sorted.getSortedComparator());
+        assertEquals(0, sorted.insertSorted(-1));
+    }
+
+    @Test
+    public void hashIndexMatchesLinearSearchUnderMutations() {
+        MyArrayList<Integer> indexed = new MyArrayList<>();
+        ArrayList<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            indexed.add(i % 50);
+            expected.add(i % 50);
+        }
+        indexed.enableHashIndex();
+        assertTrue(indexed.isHashIndexEnabled());
+        assertTrue(indexed.hashIndexMemoryUsage() > 0);
+        for (int step = 0; step < 5000; step++) {
+            int value = random.nextInt(80);
+            switch (random.nextInt(7)) {
+                case 0:
+                    indexed.add(value);
+                    expected.add(value);
+                    break;
+                case 1:
+                    int position = random.nextInt(expected.size() + 1);
+                    indexed.add(value, position);
+                    expected.add(position, value);
+                    break;
+                case 2:
+                    if (!expected.isEmpty()) {
+                        int index = random.nextInt(expected.size());
+                        assertEquals(expected.remove(index), indexed.remove(index));
+                    }
+                    break;
+                case 3:
+                    assertEquals(expected.remove(Integer.valueOf(value)), indexed.remove(Integer.valueOf(value)));
+                    break;
+                case 4:
+                    if (!expected.isEmpty()) {
+                        int index = random.nextInt(expected.size());
+                        assertEquals(expected.set(index, value), indexed.set(index, value));
+                    }
+                    break;
+                case 5:
+                    if (value == 0) {
+                        expected.removeIf(element -> element % 3 == 0);
+                        indexed.removeIf(element -> element % 3 == 0);
+                    }
+                    break;
+                default:
+                    if (value == 0) {
+                        indexed.sortByIntKey(Integer::intValue);
+                        expected.sort(Comparator.naturalOrder());
+                    }
+                    break;
+            }
+            int probe = random.nextInt(80);
+            assertEquals(expected.indexOf(probe), indexed.indexOf(probe));
+            assertEquals(expected.contains(probe), indexed.contains(probe));
+        }
+        indexed.clear();
+        assertFalse(indexed.contains(1));
+        indexed.disableHashIndex();
+        assertEquals(0, indexed.hashIndexMemoryUsage());
+    }
+
+    @Test
+    public void hashIndexFindsNull() {
+        MyArrayList<Integer> indexed = new MyArrayList<>();
+        indexed.enableHashIndex();
+        indexed.add(1);
+        indexed.add(null);
+        indexed.add(null, 0);
+        assertEquals(0, indexed.indexOf(null));
+        indexed.remove(0);
+        assertEquals(1, indexed.indexOf(null));
+        indexed.set(1, 2);
+        assertFalse(indexed.contains(null));
+    }
+
+    @Test
+    public void streamAndParallelStreamSum() {
+        MyArrayList<Integer> numbers = new MyArrayList<>();
+        long expected = 0;
+        for (int i = 0; i < 100_000; i++) {
+            numbers.add(i);
+            expected += i;
+        }
+        assertEquals(expected, numbers.stream().mapToLong(Integer::longValue).sum());
+        assertEquals(expected, numbers.parallelStream().mapToLong(Integer::longValue).sum());
+        assertEquals(100_000, numbers.parallelStream().filter(element -> element >= 0).count());
+        assertTrue(numbers.spliterator().hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED));
+    }
+
+    @Test
+    public void forEachAndIterableLoop() {
+        long[] sum = new long[1];
+        list.forEach(element -> sum[0] += element);
+        long loopSum = 0;
+        for (Integer element : list) {
+            loopSum += element;
+        }
+        assertEquals(sum[0], loopSum);
+    }
+
+    @Test
+    public void iteratorDoesNotRestartAfterEnd() {
+        Iterator<Integer> iterator = list.iterator();
+        while (iterator.hasNext()) {
+            iterator.next();
+        }
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::next);
+    }
+
+    @Test
+    public void selectPartialSortAndTopK() {
+        Comparator<Object> comparator = Comparator.comparingInt(o -> (int) o);
+        MyArrayList<Integer> numbers = new MyArrayList<>();
+        Random random = new Random(22);
+        for (int i = 0; i < 10_000; i++) {
+            numbers.add(random.nextInt());
+        }
+        Integer[] sorted = new Integer[numbers.size()];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = numbers.get(i);
+        }
+        Arrays.sort(sorted);
+        MyList<Integer> smallest = numbers.topK(100, comparator);
+        assertEquals(100, smallest.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(sorted[i], smallest.get(i));
+        }
+        assertEquals(10_000, numbers.topK(20_000, comparator).size());
+        assertEquals(sorted[5_000], numbers.select(5_000, comparator));
+        assertNull(numbers.getSortedComparator());
+        numbers.enableHashIndex();
+        numbers.partialSort(10, comparator);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(sorted[i], numbers.get(i));
+        }
+        assertEquals(9, numbers.indexOf(sorted[9]));
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> numbers.select(10_000, comparator));
+        numbers.quickSort(comparator);
+        assertEquals(sorted[42], numbers.select(42, comparator));
+        assertSame(comparator, numbers.getSortedComparator());
+    }
+
+    @Test
+    public void batchSearchMatchesSingleLookups() {
+        Comparator<Object> comparator = Comparator.comparingInt(o -> (int) o);
+        Random random = new Random(23);
+        MyArrayList<Integer> numbers = new MyArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            numbers.add(random.nextInt(10_000));
+        }
+        numbers.quickSort(comparator);
+        MyArrayList<Integer> queries = new MyArrayList<>();
+        for (int i = 0; i < 3_000; i++) {
+            queries.add(random.nextInt(12_000) - 1_000);
+        }
+        Integer[] before = new Integer[queries.size()];
+        for (int i = 0; i < before.length; i++) {
+            before[i] = queries.get(i);
+        }
+
+        int[] found = numbers.binarySearchAll(queries, comparator);
+        assertEquals(queries.size(), found.length);
+        for (int i = 0; i < found.length; i++) {
+            assertEquals(before[i], queries.get(i));
+            int expected = numbers.indexOf(queries.get(i));
+            assertEquals(expected, found[i]);
+        }
+
+        ArrayList<Integer> other = new ArrayList<>();
+        queries.forEach(other::add);
+        int[] common = numbers.intersect(queries, comparator);
+        int[] missing = numbers.difference(queries, comparator);
+        assertEquals(numbers.size(), common.length + missing.length);
+        for (int index : common) {
+            assertTrue(other.contains(numbers.get(index)));
+        }
+        for (int index : missing) {
+            assertFalse(other.contains(numbers.get(index)));
+        }
+        for (int i = 1; i < common.length; i++) {
+            assertTrue(common[i - 1] < common[i]);
+        }
+        assertArrayEquals(new int[0], new MyArrayList<Integer>().intersect(queries, comparator));
+        assertEquals(numbers.size(), numbers.difference(new MyArrayList<>(), comparator).length);
+    }
+
+    @Test
+    public void pooledListsRecycleBackingArrays() {
+        ObjectArrayPool pool = new ObjectArrayPool(1 << 10, 2);
+        for (int round = 0; round < 100; round++) {
+            MyArrayList<Integer> list = new MyArrayList<>(10, CapacityPolicy.defaultPolicy(), pool);
+            for (int i = 0; i < 500; i++) {
+                list.add(i);
+            }
+            assertEquals(499, list.get(499));
+            list.release();
+            assertEquals(0, list.size());
+            assertEquals(0, list.capacity());
+        }
+        long misses = pool.misses();
+        assertTrue(misses < 20, "misses " + misses);
+        assertTrue(pool.hits() > 100 * 5);
+
+        Object[] borrowed = pool.borrow(100);
+        assertEquals(128, borrowed.length);
+        for (Object element : borrowed) {
+            assertNull(element);
+        }
+        assertFalse(pool.giveBack(new Object[100]));
+        assertEquals(5_000, pool.borrow(5_000).length);
+
+        MyArrayList<Integer> reused = new MyArrayList<>(0, CapacityPolicy.defaultPolicy(), pool);
+        reused.add(TEST_INTEGER);
+        reused.release();
+        reused.add(TEST_INTEGER + 1);
+        assertEquals(TEST_INTEGER + 1, reused.get(0));
+        reused.trimToSize();
+        assertEquals(1, reused.capacity());
+        assertThrows(IllegalArgumentException.class, () -> new ObjectArrayPool(8, 1));
+    }
 }
@@ -0,0 +1,109 @@
+import org.junit.jupiter.api.Test;
+import ru.marzuev.aston.myarraylist.MyChunkedArrayList;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MyChunkedArrayListTest {
+
+    @Test
+    public void randomOperationsMatchArrayList() {
+        Random random = new Random(16);
+        MyChunkedArrayList<Integer> list = new MyChunkedArrayList<>(8);
+        List<Integer> expected = new ArrayList<>();
+        for (int step = 0; step < 30000; step++) {
+            int operation = random.nextInt(5);
+            if (operation < 2 || expected.isEmpty()) {
+                int index = random.nextInt(expected.size() + 1);
+                int value = random.nextInt(1000);
+                list.add(value, index);
+                expected.add(index, value);
+            } else if (operation == 2) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), list.remove(index));
+            } else if (operation == 3) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.get(index), list.get(index));
+                list.set(index, -index);
+                expected.set(index, -index);
+            } else if (random.nextInt(10) == 0) {
+                int from = random.nextInt(expected.size());
+                int to = from + random.nextInt(Math.min(30, expected.size() - from) + 1);
+                list.removeRange(from, to);
+                expected.subList(from, to).clear();
+            }
+        }
+        assertEquals(expected.size(), list.size());
+        assertEquals(expected.toString(), list.toString());
+        assertEquals(expected, list.stream().collect(Collectors.toList()));
+        assertEquals(expected.indexOf(500), list.indexOf(500));
+    }
+
+    @Test
+    public void chunksAreRebalanced() {
+        MyChunkedArrayList<Integer> list = new MyChunkedArrayList<>(16);
+        for (int i = 0; i < 1600; i++) {
+            list.add(i, i / 2);
+        }
+        assertTrue(list.chunkCount() <= 1600 / 8 + 1);
+        for (int i = 0; i < 1500; i++) {
+            list.remove(list.size() / 3);
+        }
+        assertEquals(100, list.size());
+        assertTrue(list.chunkCount() <= 100 / 4 + 2);
+        list.removeRange(10, 90);
+        assertTrue(list.chunkCount() <= 4);
+        list.clear();
+        assertTrue(list.isEmpty());
+        assertEquals(0, list.chunkCount());
+    }
+
+    @Test
+    public void sortAndBinarySearch() {
+        Random random = new Random(7);
+        MyChunkedArrayList<Integer> list = new MyChunkedArrayList<>(32);
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            int value = random.nextInt(100000) * 2;
+            list.add(value, random.nextInt(list.size() + 1));
+            expected.add(value);
+        }
+        Comparator<Object> comparator = Comparator.comparingInt(o -> (int) o);
+        list.quickSort(comparator);
+        expected.sort(null);
+        assertEquals(expected.toString(), list.toString());
+        for (int i = 0; i < expected.size(); i += 37) {
+            assertEquals(expected.get(i), list.get(list.binarySearch(expected.get(i), comparator)));
+        }
+        assertEquals(-1, list.binarySearch(1, comparator));
+        assertEquals(-1, list.binarySearch(Integer.MAX_VALUE, comparator));
+        list.mergeSort(comparator.reversed());
+        assertEquals(expected.get(0), list.get(list.size() - 1));
+    }
+
+    @Test
+    public void indexLookupSurvivesManyChunks() {
+        MyChunkedArrayList<Integer> list = new MyChunkedArrayList<>(4);
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            list.add(i);
+            expected.add(i);
+        }
+        for (int i = 0; i < 2000; i++) {
+            int index = (i * 7919) % expected.size();
+            list.add(-i, index);
+            expected.add(index, -i);
+            list.remove((i * 104729) % expected.size());
+            expected.remove((i * 104729) % expected.size());
+        }
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), list.get(i));
+        }
+        assertEquals(expected.indexOf(-1999), list.indexOf(-1999));
+    }
+}
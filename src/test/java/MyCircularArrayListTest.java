@@ -0,0 +1,124 @@
+import org.junit.jupiter.api.Test;
+import ru.marzuev.aston.myarraylist.MyCircularArrayList;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MyCircularArrayListTest {
+
+    @Test
+    public void queueAtHeadAndTail() {
+        MyCircularArrayList<Integer> list = new MyCircularArrayList<>(4);
+        for (int i = 0; i < 1000; i++) {
+            list.add(i, 0);
+        }
+        assertEquals(1000, list.size());
+        assertEquals(999, list.get(0));
+        assertEquals(0, list.get(999));
+        for (int i = 0; i < 500; i++) {
+            assertEquals(i, list.remove(list.size() - 1));
+        }
+        for (int i = 999; i >= 500; i--) {
+            assertEquals(i, list.remove(0));
+        }
+        assertTrue(list.isEmpty());
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> list.remove(0));
+    }
+
+    @Test
+    public void removeIfWithThrowingFilterLeavesListUnchanged() {
+        MyCircularArrayList<Integer> list = new MyCircularArrayList<>(4);
+        for (int i = 0; i < 6; i++) {
+            list.add(i, 0);
+        }
+        assertThrows(IllegalStateException.class, () -> list.removeIf(element -> {
+            if (element == 1) {
+                throw new IllegalStateException();
+            }
+            return element % 2 == 1;
+        }));
+        assertEquals("[5, 4, 3, 2, 1, 0]", list.toString());
+        assertTrue(list.removeIf(element -> element % 2 == 1));
+        assertEquals("[4, 2, 0]", list.toString());
+    }
+
+    @Test
+    public void randomOperationsMatchArrayList() {
+        Random random = new Random(15);
+        MyCircularArrayList<Integer> list = new MyCircularArrayList<>();
+        List<Integer> expected = new ArrayList<>();
+        for (int step = 0; step < 20000; step++) {
+            int operation = random.nextInt(4);
+            if (operation < 2 || expected.isEmpty()) {
+                int index = random.nextInt(expected.size() + 1);
+                int value = random.nextInt(100);
+                list.add(value, index);
+                expected.add(index, value);
+            } else if (operation == 2) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), list.remove(index));
+            } else {
+                int from = random.nextInt(expected.size());
+                int to = from + random.nextInt(Math.min(40, expected.size() - from) + 1);
+                list.removeRange(from, to);
+                expected.subList(from, to).clear();
+            }
+            if (step % 100 == 0) {
+                assertEquals(expected.toString(), list.toString());
+            }
+        }
+        assertEquals(expected.toString(), list.toString());
+        assertEquals(expected, list.stream().collect(Collectors.toList()));
+        assertEquals(expected.indexOf(42), list.indexOf(42));
+    }
+
+    @Test
+    public void sortAfterWrapAround() {
+        MyCircularArrayList<Integer> list = new MyCircularArrayList<>(8);
+        for (int i = 0; i < 6; i++) {
+            list.add(i);
+        }
+        for (int i = 0; i < 4; i++) {
+            list.remove(0);
+        }
+        for (int i = 10; i > 4; i--) {
+            list.add(i);
+        }
+        list.add(7, 0);
+        Comparator<Object> comparator = Comparator.comparingInt(o -> (int) o);
+        list.quickSort(comparator);
+        assertEquals("[4, 5, 5, 6, 7, 7, 8, 9, 10]", list.toString());
+        assertEquals(3, list.binarySearch(6, comparator));
+        assertTrue(list.removeIf(element -> element % 2 == 1));
+        list.mergeSort(comparator.reversed());
+        assertEquals("[10, 8, 6, 4]", list.toString());
+    }
+
+    @Test
+    public void spliteratorWalksWrappedRingInPlace() {
+        MyCircularArrayList<Integer> list = new MyCircularArrayList<>(64);
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            list.add(i);
+            expected.add(i);
+        }
+        list.removeRange(0, 30);
+        expected.subList(0, 30).clear();
+        for (int i = 40; i < 90; i++) {
+            list.add(i);
+            expected.add(i);
+        }
+        assertEquals(expected, list.stream().collect(Collectors.toList()));
+        assertEquals(expected, list.parallelStream().collect(Collectors.toList()));
+        assertEquals(expected.stream().mapToInt(Integer::intValue).sum(),
+                list.parallelStream().mapToInt(Integer::intValue).sum());
+        list.add(-1, 30);
+        expected.add(30, -1);
+        assertEquals(expected.toString(), list.toString());
+    }
+}
@@ -0,0 +1,93 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.marzuev.aston.myarraylist.MyDoubleArrayList;
+import ru.marzuev.aston.myarraylist.MyIntArrayList;
+import ru.marzuev.aston.myarraylist.MyLongArrayList;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MyPrimitiveArrayListTest {
+    private static final int TEST_INTEGER = 12345;
+    private static final int UNKNOWN_ELEMENT = 1151255;
+    private static final int INIT_LIST_SIZE_OF_RANDOM = 1000;
+    private MyIntArrayList intList;
+    private Random random;
+
+    @BeforeEach
+    public void createLists() {
+        intList = new MyIntArrayList();
+        random = new Random();
+        for (int i = 0; i < INIT_LIST_SIZE_OF_RANDOM; i++) {
+            intList.add(random.nextInt(500));
+        }
+    }
+
+    @Test
+    public void addAndGetIntElement() {
+        intList.add(TEST_INTEGER);
+        intList.add(TEST_INTEGER + 1, 0);
+        assertEquals(INIT_LIST_SIZE_OF_RANDOM + 2, intList.size());
+        assertEquals(TEST_INTEGER + 1, intList.get(0));
+        assertEquals(TEST_INTEGER, intList.get(intList.size() - 1));
+    }
+
+    @Test
+    public void setAndRemoveIntElement() {
+        int old = intList.get(5);
+        assertEquals(old, intList.set(5, TEST_INTEGER));
+        assertEquals(TEST_INTEGER, intList.remove(5));
+        assertEquals(INIT_LIST_SIZE_OF_RANDOM - 1, intList.size());
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> intList.get(intList.size()));
+    }
+
+    @Test
+    public void indexOfAndContainsIntElement() {
+        intList.add(TEST_INTEGER, 7);
+        assertEquals(7, intList.indexOf(TEST_INTEGER));
+        assertTrue(intList.contains(TEST_INTEGER));
+        assertFalse(intList.contains(UNKNOWN_ELEMENT));
+    }
+
+    @Test
+    public void quickSortAndBinarySearchIntList() {
+        int element = intList.get(5);
+        int[] expected = intList.toArray();
+        Arrays.sort(expected);
+        intList.quickSort();
+        assertArrayEquals(expected, intList.toArray());
+        assertEquals(element, intList.get(intList.binarySearch(element)));
+        assertEquals(-1, intList.binarySearch(UNKNOWN_ELEMENT));
+    }
+
+    @Test
+    public void quickSortAndBinarySearchLongList() {
+        MyLongArrayList longList = new MyLongArrayList();
+        for (int i = 0; i < INIT_LIST_SIZE_OF_RANDOM; i++) {
+            longList.add(random.nextLong());
+        }
+        long element = longList.get(3);
+        longList.quickSort();
+        for (int i = 0; i < longList.size() - 1; i++) {
+            assertTrue(longList.get(i) <= longList.get(i + 1));
+        }
+        assertEquals(element, longList.get(longList.binarySearch(element)));
+        assertTrue(longList.contains(element));
+    }
+
+    @Test
+    public void quickSortAndBinarySearchDoubleListWithNaN() {
+        MyDoubleArrayList doubleList = new MyDoubleArrayList(2);
+        doubleList.add(Double.NaN);
+        doubleList.add(2.5);
+        doubleList.add(-1.0);
+        doubleList.add(0.0, 1);
+        assertEquals(0, doubleList.indexOf(Double.NaN));
+        doubleList.quickSort();
+        assertArrayEquals(new double[]{-1.0, 0.0, 2.5, Double.NaN}, doubleList.toArray());
+        assertEquals(3, doubleList.binarySearch(Double.NaN));
+        assertEquals(-1, doubleList.binarySearch(1.0));
+    }
+}
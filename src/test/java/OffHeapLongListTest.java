@@ -0,0 +1,72 @@
+import org.junit.jupiter.api.Test;
+import ru.marzuev.aston.offheap.OffHeapLongList;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OffHeapLongListTest {
+
+    @Test
+    public void growsBySegmentsAndSorts() {
+        Random random = new Random(17);
+        long[] expected = new long[100000];
+        try (OffHeapLongList list = new OffHeapLongList(1024)) {
+            for (int i = 0; i < expected.length; i++) {
+                expected[i] = random.nextInt(50000) - 25000L;
+                list.add(expected[i]);
+            }
+            assertEquals(expected.length, list.size());
+            assertEquals(98L * 1024 * Long.BYTES, list.offHeapBytes());
+            list.quickSort();
+            Arrays.sort(expected);
+            assertArrayEquals(expected, list.toArray());
+            for (int i = 0; i < expected.length; i += 101) {
+                assertEquals(expected[i], list.get(list.binarySearch(expected[i])));
+            }
+            assertEquals(-1, list.binarySearch(30000));
+        }
+    }
+
+    @Test
+    public void sortsDegenerateInputs() {
+        try (OffHeapLongList list = new OffHeapLongList(16)) {
+            for (int i = 5000; i > 0; i--) {
+                list.add(i % 3 == 0 ? 7 : i);
+            }
+            list.quickSort();
+            long[] values = list.toArray();
+            for (int i = 1; i < values.length; i++) {
+                assertTrue(values[i - 1] <= values[i]);
+            }
+        }
+    }
+
+    @Test
+    public void insertRemoveAndClose() {
+        OffHeapLongList list = new OffHeapLongList(16);
+        for (int i = 0; i < 40; i++) {
+            list.add(i);
+        }
+        list.add(-1, 0);
+        list.add(100, 20);
+        assertEquals(-1, list.get(0));
+        assertEquals(100, list.get(20));
+        assertEquals(100, list.remove(20));
+        assertEquals(-1, list.remove(0));
+        assertEquals(39, list.indexOf(39));
+        assertEquals(5, list.set(5, 50));
+        assertTrue(list.contains(50));
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> list.get(40));
+        list.clear();
+        list.trimToSize();
+        assertEquals(0, list.offHeapBytes());
+        list.add(1);
+        list.close();
+        list.close();
+        assertThrows(IllegalStateException.class, () -> list.get(0));
+        assertThrows(IllegalStateException.class, () -> list.add(1));
+        assertThrows(IllegalArgumentException.class, () -> new OffHeapLongList(100));
+    }
+}
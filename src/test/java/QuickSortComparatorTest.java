@@ -0,0 +1,98 @@
+import org.junit.jupiter.api.Test;
+import ru.marzuev.aston.quicksort.QuickSortComparator;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QuickSortComparatorTest {
+    private static final int LARGE_SIZE = 1_000_000;
+    private static final Comparator<Object> INTEGER_COMPARATOR = Comparator.comparingInt(o -> (int) o);
+
+    private static void sortAndCheck(Object[] array) {
+        Object[] expected = array.clone();
+        Arrays.sort(expected, INTEGER_COMPARATOR);
+        new QuickSortComparator(INTEGER_COMPARATOR, array).quickSort(0, array.length - 1);
+        assertArrayEquals(expected, array);
+    }
+
+    @Test
+    public void quickSortRandom() {
+        Random random = new Random(42);
+        Object[] array = new Object[LARGE_SIZE];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = random.nextInt();
+        }
+        sortAndCheck(array);
+    }
+
+    @Test
+    public void quickSortAlreadySortedWithoutStackOverflow() {
+        Object[] array = new Object[LARGE_SIZE];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = i;
+        }
+        sortAndCheck(array);
+    }
+
+    @Test
+    public void quickSortReversed() {
+        Object[] array = new Object[LARGE_SIZE];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = array.length - i;
+        }
+        sortAndCheck(array);
+    }
+
+    @Test
+    public void quickSortManyDuplicates() {
+        Random random = new Random(7);
+        Object[] array = new Object[LARGE_SIZE];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = random.nextInt(3);
+        }
+        sortAndCheck(array);
+        Arrays.fill(array, 5);
+        sortAndCheck(array);
+    }
+
+    @Test
+    public void quickSortOrganPipe() {
+        Object[] array = new Object[LARGE_SIZE];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = Math.min(i, array.length - i);
+        }
+        sortAndCheck(array);
+    }
+
+    @Test
+    public void quickSortSubRangeOnly() {
+        Object[] array = {9, 8, 7, 6, 5, 4, 3, 2, 1, 0};
+        new QuickSortComparator(INTEGER_COMPARATOR, array).quickSort(2, 6);
+        assertArrayEquals(new Object[]{9, 8, 3, 4, 5, 6, 7, 2, 1, 0}, array);
+    }
+
+    @Test
+    public void selectPlacesKthElement() {
+        Random random = new Random(22);
+        Object[] array = new Object[100_000];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = random.nextInt(1000);
+        }
+        Object[] expected = array.clone();
+        Arrays.sort(expected, INTEGER_COMPARATOR);
+        for (int k : new int[]{0, 500, 50_000, 99_999}) {
+            Object[] copy = array.clone();
+            new QuickSortComparator(INTEGER_COMPARATOR, copy).select(0, copy.length - 1, k);
+            assertEquals(expected[k], copy[k]);
+            for (int i = 0; i < copy.length; i++) {
+                int compare = INTEGER_COMPARATOR.compare(copy[i], copy[k]);
+                assertTrue(i < k ? compare <= 0 : compare >= 0);
+            }
+        }
+        new QuickSortComparator(INTEGER_COMPARATOR, array).partialSort(0, array.length - 1, 100);
+        assertArrayEquals(Arrays.copyOf(expected, 100), Arrays.copyOf(array, 100));
+    }
+}